@@ -2,9 +2,11 @@ package youtube.youtube_api_practice.admin;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminController {
 
     private final AdminService commentService;
+    private final ChannelCrawler channelCrawler;
 
     @GetMapping("/")
     public String home() {
@@ -33,11 +36,30 @@ public class AdminController {
 
     @GetMapping("/admin/allupdate")
     public ResponseEntity<String> allUpdate(@RequestParam int limit) {
-        commentService.allUpdate(limit);
+        if (!commentService.allUpdate(limit)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Crawler is already running");
+        }
 
         return ResponseEntity.ok("Update started for allUpdate");
     }
 
+    @GetMapping("/admin/crawler/status")
+    public ResponseEntity<ChannelCrawler.CrawlStatus> crawlerStatus() {
+        return ResponseEntity.ok(channelCrawler.status());
+    }
+
+    @PostMapping("/admin/crawler/pause")
+    public ResponseEntity<ChannelCrawler.CrawlStatus> pauseCrawler() {
+        channelCrawler.pause();
+        return ResponseEntity.ok(channelCrawler.status());
+    }
+
+    @PostMapping("/admin/crawler/resume")
+    public ResponseEntity<ChannelCrawler.CrawlStatus> resumeCrawler() {
+        channelCrawler.resume();
+        return ResponseEntity.ok(channelCrawler.status());
+    }
+
     @GetMapping("/admin/updateVideosThumbnail")
     public ResponseEntity<String> updateVideosThumbnail() {
         commentService.allVideoThumbnailUpdate();
@@ -5,7 +5,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import youtube.youtube_api_practice.domain.Channel;
-import youtube.youtube_api_practice.domain.Video;
 
 import java.util.List;
 
@@ -21,8 +20,8 @@ public class AdminRepository {
                 .getResultList();
     }
 
-    List<Video> getVideosHighThumbnail() {
-        return em.createQuery("select v from Video v where v.thumbnailUrl not like '%maxresdefault.jpg'", Video.class)
+    List<String> getVideoIdsHighThumbnail() {
+        return em.createQuery("select v.id from Video v where v.thumbnailUrl not like '%maxresdefault.jpg'", String.class)
                 .getResultList();
     }
 }
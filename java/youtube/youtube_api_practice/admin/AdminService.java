@@ -1,27 +1,31 @@
 package youtube.youtube_api_practice.admin;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import youtube.youtube_api_practice.domain.Channel;
-import youtube.youtube_api_practice.domain.Comment;
 import youtube.youtube_api_practice.domain.CommentStatus;
+import youtube.youtube_api_practice.domain.SyncLevel;
 import youtube.youtube_api_practice.domain.Video;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+import youtube.youtube_api_practice.client.CommentHarvestPlan;
+import youtube.youtube_api_practice.client.YoutubeApi;
 import youtube.youtube_api_practice.client.YoutubeProvider;
-import youtube.youtube_api_practice.repository.Comment.CommentRepository;
 import youtube.youtube_api_practice.repository.Video.VideoRepository;
 import youtube.youtube_api_practice.repository.channel.ChannelRepository;
+import youtube.youtube_api_practice.service.SyncJobService;
+import youtube.youtube_api_practice.service.SyncIngestionWriter;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -31,117 +35,119 @@ public class AdminService {
     private final YoutubeProvider youtubeProvider;
     private final ChannelRepository channelRepository;
     private final VideoRepository videoRepository;
-    private final CommentRepository commentRepository;
     private final AdminRepository adminRepository;
-    private final WebClient webClient;
-    @Value("${youtube.api.key}")
-    private String apiKey;
+    private final VideoThumbnailRefresher videoThumbnailRefresher;
+    private final SyncJobService syncJobService;
+    private final SyncIngestionWriter syncIngestionWriter;
+    private final ChannelCrawler channelCrawler;
 
-    @Transactional
+    // 트랜잭션 없이 가져오고, 저장은 SyncIngestionWriter 가 작은 트랜잭션으로 나눠서 커밋
     public void update(String channelId, int videoLimit, int commentLimit) {
-        log.info("update started channelId={}, videoLimit={}, commentLimit={}", channelId, videoLimit, commentLimit);
-
-        long start = System.currentTimeMillis();
-
-        Channel newChannel = youtubeProvider.fetchChannel(channelId);
-        newChannel.setCommentStatus(CommentStatus.COMMENT_EXTENDED);
-        newChannel.setLastSelectAt(LocalDateTime.now());
-        channelRepository.upsertChannel(newChannel);
-
-        List<Video> videos = youtubeProvider.fetchVideos(newChannel, videoLimit);
-        videoRepository.upsertVideos(videos);
-
-        for (Video video : videos) {
-            log.info("videoId={} videoTitle={}", video.getId(), video.getTitle());
-            List<Comment> comments = youtubeProvider.fetchComments(video, commentLimit);
-            for (Comment comment : comments) {
-                log.info("comment {}", comment);
+        try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(QuotaPriority.BULK)) {
+            log.info("update started channelId={}, videoLimit={}, commentLimit={}", channelId, videoLimit, commentLimit);
+
+            long start = System.currentTimeMillis();
+
+            // 이미 확장 동기화된 채널이면 가진 최신 비디오까지만 증분으로 가져옴
+            boolean extended = channelRepository.findById(channelId)
+                    .map(channel -> channel.getCommentStatus() == CommentStatus.COMMENT_EXTENDED)
+                    .orElse(false);
+            Optional<Video> newestKnown = extended
+                    ? videoRepository.findFirstByChannelIdOrderByPublishedAtDesc(channelId)
+                    : Optional.empty();
+
+            Channel newChannel = youtubeProvider.fetchChannel(channelId);
+
+            List<Video> videos = newestKnown
+                    .map(known -> youtubeProvider.fetchNewVideos(newChannel, videoLimit, known))
+                    .orElseGet(() -> youtubeProvider.fetchVideos(newChannel, videoLimit));
+            log.info("videos fetched={}, delta={}", videos.size(), newestKnown.isPresent());
+
+            // 댓글을 etag 없이 다시 쓰므로 예전 etag 를 먼저 지움 (남아 있으면 기존 비디오 갱신이 304 로 보고 건너뜀)
+            // 쓰기 전에 지워야 중간에 실패해도 다음 갱신이 다시 받아감
+            videoRepository.clearCommentsEtags(videos.stream().map(Video::getId).toList());
+
+            // 100개가 넘는 댓글도 페이지가 도착할 때마다 writer 로 넘겨서 전체를 메모리에 들고 있지 않음
+            CommentHarvestPlan plan = CommentHarvestPlan.of(commentLimit);
+            Flux<SyncIngestionWriter.Batch> batches = Flux.concat(
+                            Mono.just(SyncIngestionWriter.Batch.ofVideos(videos)),
+                            Flux.fromIterable(videos)
+                                    .doOnNext(video -> log.info("videoId={} videoTitle={}", video.getId(), video.getTitle()))
+                                    .concatMap(video -> youtubeProvider.fetchCommentPagesAsync(video, plan))
+                                    .map(SyncIngestionWriter.Batch::ofComments))
+                    .contextWrite(QuotaPriorityContext.capture());
+            long written = syncIngestionWriter.write(batches);
+            log.info("channelId={} 저장한 행 {}개", channelId, written);
+
+            // 모든 데이터가 커밋된 후 상태 업데이트
+            newChannel.setCommentStatus(CommentStatus.COMMENT_EXTENDED);
+            newChannel.setLastSelectAt(LocalDateTime.now());
+            channelRepository.upsertChannel(newChannel);
+
+            // 기존 비디오 댓글은 바뀐 것만 별도 백그라운드 작업으로 갱신
+            if (newestKnown.isPresent()) {
+                syncJobService.enqueue(channelId, SyncLevel.REFRESH_KNOWN, QuotaPriority.BULK);
             }
-            commentRepository.upsertComments(comments);
-        }
 
-        long end = System.currentTimeMillis();
-        long elapsed = end - start; // 밀리초
+            long end = System.currentTimeMillis();
+            long elapsed = end - start; // 밀리초
 
-        double seconds = elapsed / 1000.0; // 초 단위로 변환
-        log.info("걸린 시간: {}초", seconds);
+            double seconds = elapsed / 1000.0; // 초 단위로 변환
+            log.info("걸린 시간: {}초", seconds);
+        }
     }
 
 
-    public void allUpdate(int limit) {
+    // 채널별 update 를 크롤러에 넘기고 바로 반환, 진행 상황은 /admin/crawler/status
+    public boolean allUpdate(int limit) {
         log.info("allUpdate started");
 
-        long start = System.currentTimeMillis();
-
         Pageable pageable = PageRequest.of(0, limit);
 
-        List<Channel> channels = channelRepository.findTopChannels(10000L, pageable);
-        for (Channel channel : channels) {
-            update(channel.getId(), 100, 30);
-        }
+        List<String> channelIds = channelRepository.findTopChannels(10000L, pageable).stream()
+                .map(Channel::getId)
+                .toList();
 
-        long end = System.currentTimeMillis();
-        long elapsed = end - start; // 밀리초
+        return channelCrawler.start(channelIds, estimateUnits(100, 30), channelId -> update(channelId, 100, 30));
+    }
 
-        double seconds = elapsed / 1000.0; // 초 단위로 변환
-        log.info("걸린 시간: {}초", seconds);
+    // 채널 1 + 비디오 페이지 + 비디오별 댓글 페이지
+    private long estimateUnits(int videoLimit, int commentLimit) {
+        long videoPages = (videoLimit + YoutubeApi.MAX_IDS_PER_REQUEST - 1) / YoutubeApi.MAX_IDS_PER_REQUEST;
+        long commentPages = CommentHarvestPlan.of(commentLimit).maxPages();
+        return 1 + videoPages + videoLimit * commentPages;
     }
 
-    @Transactional
     public void allVideoThumbnailUpdate() {
-        log.info("allVideoThumbnailUpdate started");
-        long start = System.currentTimeMillis();
+        try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(QuotaPriority.BULK)) {
+            log.info("allVideoThumbnailUpdate started");
+            long start = System.currentTimeMillis();
 
-        List<Video> videosHighThumbnail = adminRepository.getVideosHighThumbnail();
-        for (Video video : videosHighThumbnail) {
-            String newThumbnailUrl = getVideoThumbnail(video.getId());
-            video.setThumbnailUrl(newThumbnailUrl);
-        }
+            List<String> videoIds = adminRepository.getVideoIdsHighThumbnail();
+            int updated = videoThumbnailRefresher.refresh(videoIds);
+            log.info("썸네일 갱신 완료: {}/{}", updated, videoIds.size());
 
-        long end = System.currentTimeMillis();
-        long elapsed = end - start; // 밀리초
+            long end = System.currentTimeMillis();
+            long elapsed = end - start; // 밀리초
 
-        double seconds = elapsed / 1000.0; // 초 단위로 변환
-        log.info("걸린 시간: {}초", seconds);
+            double seconds = elapsed / 1000.0; // 초 단위로 변환
+            log.info("걸린 시간: {}초", seconds);
+        }
     }
 
     public String getVideoThumbnail(String videoId) {
         log.info("getVideoThumbnail videoId={}", videoId);
 
         try {
-            JsonNode root = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/videos")
-                            .queryParam("part", "snippet")
-                            .queryParam("id", videoId)
-                            .queryParam("key", apiKey)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
+            String videoThumbnail = youtubeProvider.fetchVideoThumbnailsAsync(List.of(videoId))
+                    .map(thumbnails -> thumbnails.getOrDefault(videoId, ""))
                     .block();
 
-            if (root == null || !root.has("items") || root.get("items").isEmpty()) {
+            if (videoThumbnail == null || videoThumbnail.isEmpty()) {
                 log.warn("Youtube API로부터 비정상적인 비디오 목록 응답을 받았습니다. {}", videoId);
                 return null;
             }
 
-            JsonNode snippet = root.get("items").get(0).path("snippet");
-            // --- 썸네일 폴백 로직 시작 ---
-            JsonNode thumbnailsNode = snippet.path("thumbnails");
-            String videoThumbnail;
-            if (thumbnailsNode.has("maxres")) {
-                videoThumbnail = thumbnailsNode.path("maxres").path("url").asText();
-            } else if (thumbnailsNode.has("standard")) {
-                videoThumbnail = thumbnailsNode.path("standard").path("url").asText();
-            } else if (thumbnailsNode.has("high")) {
-                videoThumbnail = thumbnailsNode.path("high").path("url").asText();
-            } else if (thumbnailsNode.has("medium")) {
-                videoThumbnail = thumbnailsNode.path("medium").path("url").asText();
-            } else {
-                videoThumbnail = thumbnailsNode.path("default").path("url").asText();
-            }
-            // --- 썸네일 폴백 로직 끝 ---
-
             return videoThumbnail;
         } catch (Exception e) {
             log.error("getVideo {} exception", videoId, e);
@@ -0,0 +1,196 @@
+package youtube.youtube_api_practice.admin;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.config.AsyncConfig;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.quota.QuotaLedger;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 여러 채널을 한꺼번에 동기화하는 관리자용 크롤러
+ * - 채널 하나가 작업 하나, crawlerExecutor(executor.crawler) 크기만큼 동시에 실행
+ * - 채널을 시작하기 전에 BULK 쿼터 몫으로 채널 하나를 끝낼 수 있는지 확인, 모자라면 남은 채널은 건너뜀
+ * - 채널 작업이 QuotaExceededException 으로 실패해도 남은 채널은 건너뜀
+ * - 일시정지/재개 (진행 중인 채널은 끝까지 하고, 다음 채널부터 대기)
+ * - 분당 채널 수, 사용한 쿼터 단위 보고 (쿼터는 같은 시간 다른 호출까지 포함한 장부 기준 근사값)
+ */
+@Slf4j
+@Component
+public class ChannelCrawler {
+
+    public enum State {
+        IDLE, RUNNING, PAUSED, FINISHED
+    }
+
+    private final QuotaLedger quotaLedger;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Object pauseLock = new Object();
+    private volatile boolean paused;
+    private volatile boolean quotaStopped;
+
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile int total;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startUnits;
+    private volatile long endUnits;
+
+    public ChannelCrawler(QuotaLedger quotaLedger,
+                          @Qualifier(AsyncConfig.CRAWLER) ThreadPoolTaskExecutor executor) {
+        this.quotaLedger = quotaLedger;
+        this.executor = executor;
+    }
+
+    // 이미 돌고 있으면 false
+    public synchronized boolean start(List<String> channelIds, long estimatedUnitsPerChannel, Consumer<String> channelTask) {
+        if (remaining.get() > 0) {
+            log.warn("크롤러가 이미 실행 중입니다. remaining={}", remaining.get());
+            return false;
+        }
+
+        completed.set(0);
+        failed.set(0);
+        skipped.set(0);
+        remaining.set(channelIds.size());
+        total = channelIds.size();
+        quotaStopped = false;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startUnits = quotaLedger.getUsedUnits();
+
+        log.info("크롤링 시작 channels={}, parallelism={}, estimatedUnitsPerChannel={}",
+                total, executor.getMaxPoolSize(), estimatedUnitsPerChannel);
+
+        if (channelIds.isEmpty()) {
+            finish();
+        }
+        for (String channelId : channelIds) {
+            try {
+                executor.execute(() -> crawl(channelId, estimatedUnitsPerChannel, channelTask));
+            } catch (RejectedExecutionException e) {
+                // 큐보다 채널이 많으면 넘치는 채널은 건너뜀
+                skipped.incrementAndGet();
+                if (remaining.decrementAndGet() == 0) {
+                    finish();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void crawl(String channelId, long estimatedUnits, Consumer<String> channelTask) {
+        try {
+            awaitResume();
+
+            if (quotaStopped || !quotaLedger.canAfford(QuotaPriority.BULK, estimatedUnits)) {
+                if (!quotaStopped) {
+                    log.warn("BULK 쿼터 몫 부족으로 남은 채널을 건너뜀 remaining={}", quotaLedger.remaining(QuotaPriority.BULK));
+                    quotaStopped = true;
+                }
+                skipped.incrementAndGet();
+                return;
+            }
+
+            channelTask.accept(channelId);
+            completed.incrementAndGet();
+        } catch (QuotaExceededException e) {
+            // 쿼터가 끝났으면 남은 채널도 실패할 뿐이므로 더 보내지 않음
+            if (!quotaStopped) {
+                log.warn("쿼터 초과로 크롤링 중단 channelId={}, cause={}", channelId, e.getMessage());
+                quotaStopped = true;
+            }
+            failed.incrementAndGet();
+        } catch (Exception e) {
+            log.error("채널 크롤링 실패 channelId={}", channelId, e);
+            failed.incrementAndGet();
+        } finally {
+            if (remaining.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+    }
+
+    private void finish() {
+        finishedAt = LocalDateTime.now();
+        endUnits = quotaLedger.getUsedUnits();
+        CrawlStatus status = status();
+        log.info("크롤링 종료 completed={}, failed={}, skipped={}, channelsPerMinute={}, units={}",
+                status.completed(), status.failed(), status.skipped(), status.channelsPerMinute(), status.unitsConsumed());
+    }
+
+    private void awaitResume() throws InterruptedException {
+        synchronized (pauseLock) {
+            while (paused) {
+                pauseLock.wait();
+            }
+        }
+    }
+
+    public void pause() {
+        paused = true;
+        log.info("크롤러 일시정지");
+    }
+
+    public void resume() {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+        log.info("크롤러 재개");
+    }
+
+    public CrawlStatus status() {
+        State state;
+        if (startedAt == null) {
+            state = State.IDLE;
+        } else if (remaining.get() == 0) {
+            state = State.FINISHED;
+        } else {
+            state = paused ? State.PAUSED : State.RUNNING;
+        }
+
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        double minutes = startedAt == null ? 0 : Duration.between(startedAt, end).toMillis() / 60000.0;
+        long units = startedAt == null ? 0 : (finishedAt != null ? endUnits : quotaLedger.getUsedUnits()) - startUnits;
+        int done = completed.get();
+
+        return new CrawlStatus(state, total, done, failed.get(), skipped.get(), quotaStopped, startedAt, finishedAt,
+                minutes > 0 ? Math.round(done / minutes * 100) / 100.0 : 0,
+                units,
+                done > 0 ? units / done : 0);
+    }
+
+    public record CrawlStatus(State state,
+                              int total,
+                              int completed,
+                              int failed,
+                              int skipped,
+                              boolean quotaStopped,
+                              LocalDateTime startedAt,
+                              LocalDateTime finishedAt,
+                              double channelsPerMinute,
+                              long unitsConsumed,
+                              long unitsPerChannel) {
+    }
+
+    // 일시정지로 기다리던 작업을 풀어줌, 남은 채널은 crawlerExecutor 종료 때 취소됨
+    @PreDestroy
+    public void shutdown() {
+        resume();
+    }
+}
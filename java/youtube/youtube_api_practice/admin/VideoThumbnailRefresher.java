@@ -0,0 +1,96 @@
+package youtube.youtube_api_practice.admin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import youtube.youtube_api_practice.client.YoutubeApi;
+import youtube.youtube_api_practice.client.YoutubeProvider;
+import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+import youtube.youtube_api_practice.repository.Video.VideoRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비디오 썸네일 일괄 갱신 엔진
+ * - /videos 요청 1번에 비디오 50개씩 묶어서 조회
+ * - 묶음 요청은 parallelism 개까지 동시에 실행
+ * - 결과는 writeChunkSize 개씩 JDBC 배치 update, 묶음마다 별도 트랜잭션으로 커밋
+ */
+@Slf4j
+@Component
+public class VideoThumbnailRefresher {
+
+    private final YoutubeProvider youtubeProvider;
+    private final VideoRepository videoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int writeChunkSize;
+
+    public VideoThumbnailRefresher(YoutubeProvider youtubeProvider,
+                                   VideoRepository videoRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${admin.thumbnail.parallelism:4}") int parallelism,
+                                   @Value("${admin.thumbnail.write-chunk-size:500}") int writeChunkSize) {
+        this.youtubeProvider = youtubeProvider;
+        this.videoRepository = videoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.writeChunkSize = writeChunkSize;
+    }
+
+    // 갱신된 비디오 수를 반환
+    public int refresh(List<String> videoIds) {
+        log.info("thumbnail refresh started videos={}, parallelism={}", videoIds.size(), parallelism);
+
+        Integer updated = Flux.fromIterable(videoIds)
+                .buffer(YoutubeApi.MAX_IDS_PER_REQUEST)
+                .flatMap(this::fetchThumbnails, parallelism)
+                .flatMapIterable(Map::entrySet)
+                .filter(this::hasThumbnail)
+                .buffer(writeChunkSize)
+                .publishOn(Schedulers.boundedElastic()) // JDBC 쓰기는 블로킹이므로 네트워크 스레드에서 분리
+                .map(this::write)
+                .reduce(0, Integer::sum)
+                .contextWrite(QuotaPriorityContext.capture())
+                .block();
+
+        return updated == null ? 0 : updated;
+    }
+
+    // 묶음 하나가 실패해도 나머지 묶음은 계속 진행 (쿼터 초과는 그대로 전파)
+    private Mono<Map<String, String>> fetchThumbnails(List<String> videoIds) {
+        return youtubeProvider.fetchVideoThumbnailsAsync(videoIds)
+                .onErrorResume(YoutubeApiFailedException.class, e -> {
+                    log.error("thumbnail chunk failed size={}", videoIds.size(), e);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    // 응답에 썸네일이 없는 비디오는 저장된 URL 을 빈 값으로 덮어쓰지 않도록 건너뜀
+    private boolean hasThumbnail(Map.Entry<String, String> entry) {
+        if (StringUtils.hasText(entry.getValue())) {
+            return true;
+        }
+        log.warn("썸네일 없는 응답, 갱신 건너뜀 videoId={}", entry.getKey());
+        return false;
+    }
+
+    private int write(List<Map.Entry<String, String>> chunk) {
+        Map<String, String> thumbnailUrlByVideoId = new HashMap<>();
+        for (Map.Entry<String, String> entry : chunk) {
+            thumbnailUrlByVideoId.put(entry.getKey(), entry.getValue());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> videoRepository.updateThumbnails(thumbnailUrlByVideoId));
+        log.info("thumbnail chunk committed size={}", thumbnailUrlByVideoId.size());
+        return thumbnailUrlByVideoId.size();
+    }
+}
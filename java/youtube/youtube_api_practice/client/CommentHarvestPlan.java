@@ -0,0 +1,18 @@
+package youtube.youtube_api_practice.client;
+
+/**
+ * 비디오 하나에서 댓글 스레드를 어디까지 가져올지 (order=relevance 기준으로 페이지를 넘김)
+ * - targetCount: 모을 댓글 수
+ * - minLikeCount: 좋아요가 이보다 적은 댓글은 버림, 한 페이지에 기준 이상 댓글이 하나도 없으면 더 넘기지 않음
+ * - maxPages: 요청할 최대 페이지 수 (쿼터 상한)
+ */
+public record CommentHarvestPlan(int targetCount, int minLikeCount, int maxPages) {
+
+    // commentThreads maxResults 최대값
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // limit 개를 모을 때까지 필요한 만큼 페이지를 넘김
+    public static CommentHarvestPlan of(int limit) {
+        return new CommentHarvestPlan(limit, 0, (limit + MAX_PAGE_SIZE - 1) / MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,23 @@
+package youtube.youtube_api_practice.client;
+
+import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.Video;
+
+import java.util.List;
+
+/**
+ * 비디오 하나의 댓글 스레드 조회 결과
+ * - etag: 첫 페이지 etag, 댓글을 저장한 뒤에 video.comments_etag 로 남겨서 다음 조회의 If-None-Match 로 씀
+ * - revalidated: 저장된 etag 로 조건부 요청을 보냈음 (전에 받아본 적 있는 비디오), 변경 비율은 이것만 기준으로 셈
+ * - notModified: 저장된 etag 와 같아서(304) 저장할 것이 없음
+ */
+public record CommentSnapshot(Video video, List<Comment> comments, String etag, boolean revalidated, boolean notModified) {
+
+    public static CommentSnapshot changed(Video video, List<Comment> comments, String etag, boolean revalidated) {
+        return new CommentSnapshot(video, comments, etag, revalidated, false);
+    }
+
+    public static CommentSnapshot unchanged(Video video, String etag) {
+        return new CommentSnapshot(video, List.of(), etag, true, true);
+    }
+}
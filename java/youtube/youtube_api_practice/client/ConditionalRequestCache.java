@@ -0,0 +1,70 @@
+package youtube.youtube_api_practice.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * YouTube list 응답의 etag 와 디코딩된 결과를 요청 URI 별로 보관하는 캐시
+ * 같은 요청을 다시 보낼 때 If-None-Match 로 etag 를 보내고, 304 면 보관된 결과를 그대로 재사용한다.
+ * 전체 크기는 응답 본문 바이트 합계로 제한 (maxBytes 를 넘으면 가장 오래 안 쓰인 항목부터 제거)
+ *
+ * 댓글 스레드는 여기 두지 않고 저장이 끝난 뒤 video.comments_etag 에 남긴다 (304 를 "저장할 것 없음"으로 쓰기 때문)
+ */
+@Slf4j
+@Component
+public class ConditionalRequestCache {
+
+    // access-order LinkedHashMap 으로 가장 오래 안 쓰인 항목부터 제거 (LRU)
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private long totalBytes;
+
+    public ConditionalRequestCache(@Value("${youtube.etag-cache.max-bytes:33554432}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    // API 키가 바뀌어도 같은 리소스로 취급되도록 key 파라미터는 제외
+    public static String keyOf(URI uri) {
+        return UriComponentsBuilder.fromUri(uri)
+                .replaceQueryParam("key")
+                .build()
+                .toUriString();
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, String etag, Object body, long bytes) {
+        if (bytes > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(key, new Entry(etag, body, bytes));
+        totalBytes += bytes - (previous == null ? 0 : previous.bytes());
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().bytes();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public record Entry(String etag, Object body, long bytes) {
+    }
+}
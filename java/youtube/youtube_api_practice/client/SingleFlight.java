@@ -0,0 +1,74 @@
+package youtube.youtube_api_practice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 진행 중인 같은 호출(operation + 인자)을 하나로 합치는 single-flight
+ * 먼저 들어온 호출이 끝날 때까지 같은 키로 들어온 호출은 같은 HTTP 요청과 디코딩 결과를 공유한다.
+ * 호출이 끝나면 키를 지우므로 결과를 오래 캐시하지는 않는다.
+ * 쿼터 차감과 우선순위 확인은 먼저 들어온 호출 쪽에서 일어나므로, 키에 쿼터 우선순위를 넣어서 같은 우선순위끼리만 합친다.
+ * (BULK 호출의 몫이 모자라 나는 QuotaExceededException 을 INTERACTIVE 호출이 같이 받지 않도록)
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private final Map<String, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("youtube.singleflight.inflight", List.of(), inFlight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String operation, String key, Supplier<Mono<T>> call) {
+        QuotaPriority assembledPriority = QuotaPriorityContext.current();
+        return Mono.deferContextual(context -> {
+            QuotaPriority priority = context.getOrDefault(QuotaPriority.class, assembledPriority);
+            String flightKey = operation + ":" + priority + ":" + key;
+            boolean[] leader = {false};
+
+            Mono<Object> flight = inFlight.computeIfAbsent(flightKey, k -> {
+                leader[0] = true;
+                return newFlight(k, call);
+            });
+
+            if (leader[0]) {
+                counter("youtube.singleflight.calls", operation).increment();
+            } else {
+                log.debug("진행 중인 호출에 합류 {}", flightKey);
+                counter("youtube.singleflight.coalesced", operation).increment();
+            }
+            return (Mono<T>) flight;
+        });
+    }
+
+    private <T> Mono<Object> newFlight(String flightKey, Supplier<Mono<T>> call) {
+        AtomicReference<Mono<Object>> self = new AtomicReference<>();
+        Mono<Object> flight = call.get()
+                .cast(Object.class)
+                .doFinally(signal -> inFlight.remove(flightKey, self.get()))
+                .cache();
+        self.set(flight);
+        return flight;
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
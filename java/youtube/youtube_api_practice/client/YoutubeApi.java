@@ -1,331 +1,472 @@
 package youtube.youtube_api_practice.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import youtube.youtube_api_practice.client.response.ChannelResource;
+import youtube.youtube_api_practice.client.response.CommentResource;
+import youtube.youtube_api_practice.client.response.CommentThreadResource;
+import youtube.youtube_api_practice.client.response.FieldsProjection;
+import youtube.youtube_api_practice.client.response.PlaylistItemResource;
+import youtube.youtube_api_practice.client.response.SearchResource;
+import youtube.youtube_api_practice.client.response.VideoResource;
+import youtube.youtube_api_practice.client.response.YoutubeListResponse;
 import youtube.youtube_api_practice.domain.Channel;
 import youtube.youtube_api_practice.domain.Comment;
-import youtube.youtube_api_practice.domain.CommentStatus;
 import youtube.youtube_api_practice.domain.Video;
-import youtube.youtube_api_practice.dto.ReplyCommentDto;
 import youtube.youtube_api_practice.dto.ReplyResponseDto;
-
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
+import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
+import youtube.youtube_api_practice.quota.ApiKeyPool;
+import youtube.youtube_api_practice.quota.QuotaLedger;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+import youtube.youtube_api_practice.quota.YoutubeEndpoint;
+
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
 public class YoutubeApi {
 
+    // /channels, /videos 요청의 id 파라미터로 한 번에 보낼 수 있는 최대 개수
+    public static final int MAX_IDS_PER_REQUEST = 50;
 
-    private final WebClient webClient;
-    private final String apiKey;
+    // 응답은 JsonNode 트리 없이 스트리밍 파서로 바로 타입 레코드에 역직렬화
+    private static final ParameterizedTypeReference<YoutubeListResponse<SearchResource>> SEARCH_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<YoutubeListResponse<ChannelResource>> CHANNEL_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<YoutubeListResponse<PlaylistItemResource>> PLAYLIST_ITEM_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<YoutubeListResponse<VideoResource>> VIDEO_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<YoutubeListResponse<CommentThreadResource>> COMMENT_THREAD_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<YoutubeListResponse<CommentResource>> COMMENT_LIST = new ParameterizedTypeReference<>() {};
 
-    public YoutubeApi(WebClient youtubeWebClient, @Value("${youtube.api.key}") String apiKey) {
+    private final WebClient webClient;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final YoutubeDecoder decoder;
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final QuotaLedger quotaLedger;
+    private final ApiKeyPool apiKeyPool;
+    private final YoutubeResilience resilience;
+    private final ObjectMapper objectMapper;
+
+    public YoutubeApi(WebClient youtubeWebClient,
+                      UriBuilderFactory youtubeUriBuilderFactory,
+                      YoutubeDecoder decoder,
+                      ConditionalRequestCache conditionalRequestCache,
+                      QuotaLedger quotaLedger,
+                      ApiKeyPool apiKeyPool,
+                      YoutubeResilience resilience,
+                      ObjectMapper objectMapper) {
         this.webClient = youtubeWebClient;
-        this.apiKey = apiKey;
+        this.uriBuilderFactory = youtubeUriBuilderFactory;
+        this.decoder = decoder;
+        this.conditionalRequestCache = conditionalRequestCache;
+        this.quotaLedger = quotaLedger;
+        this.apiKeyPool = apiKeyPool;
+        this.resilience = resilience;
+        this.objectMapper = objectMapper;
     }
 
     // 검색어로 유튜브 채널 ID 10개 가져오기
     public List<String> getChannelIdsBySearch(String keyword) {
-        log.info("getChannelsIdBySearch {}", keyword);
+        return getChannelIdsBySearchAsync(keyword).block();
+    }
 
-        List<String> channelIds = new ArrayList<>();
+    // 검색어로 유튜브 채널 ID 10개 가져오기 (비동기)
+    public Mono<List<String>> getChannelIdsBySearchAsync(String keyword) {
+        log.info("getChannelsIdBySearch {}", keyword);
 
-        JsonNode searchRoot = webClient.get()
-                .uri(uriBuilder -> uriBuilder
+        return get(uriBuilder -> uriBuilder
                         .path("/search")
                         .queryParam("part", "snippet")
+                        .queryParam("fields", FieldsProjection.listOf(SearchResource.class))
                         .queryParam("q", keyword)
                         .queryParam("type", "channel")
                         .queryParam("maxResults", 10)
-                        .queryParam("key", apiKey)
-                        .build())
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
-
-        if (searchRoot == null || !searchRoot.has("items")) {
-            log.info("Youtube API로부터 비정상적인 응답을 받았습니다: {} ", keyword);
-            return null;
-        }
-
-        for (JsonNode item : searchRoot.get("items")) {
-            String channelId = item.path("id").path("channelId").asText();
-//            String channelName = item.path("snippet").path("title").asText();
-//            String channelDescription = item.path("snippet").path("description").asText();
-//            String channelThumbnails= item.path("snippet").path("thumbnails").path("high").path("url").asText();
-
-            channelIds.add(channelId);
-        }
-
-        return channelIds;
+                        .build(), SEARCH_LIST)
+                .map(response -> {
+                    List<String> channelIds = new ArrayList<>();
+                    for (SearchResource item : response.items()) {
+                        channelIds.add(item.id() == null || item.id().channelId() == null ? "" : item.id().channelId());
+                    }
+                    return channelIds;
+                });
     }
 
-    // 검색어로 유튜브 채널 ID 10개 가져오기 (비동기)
-//    public Mono<List<String>> getChannelIdsBySearchAsync(String keyword) {
-//        log.info("getChannelsIdBySearchAsync {}", keyword);
-//
-//        return webClient.get()
-//                .uri(uriBuilder -> uriBuilder
-//                        .path("/search")
-//                        .queryParam("part", "snippet")
-//                        .queryParam("q", keyword)
-//                        .queryParam("type", "channel")
-//                        .queryParam("maxResults", 10)
-//                        .queryParam("key", apiKey)
-//                        .build())
-//                .retrieve()
-//                .bodyToMono(JsonNode.class)
-//                .flatMap(searchRoot -> {
-//                    if (searchRoot == null || !searchRoot.has("items") || searchRoot.get("items").isEmpty()) {
-//                        log.info("채널을 찾을 수 없습니다: {}", keyword);
-//                        return Mono.error(new RuntimeException("채널을 찾을 수 없습니다: " + keyword));
-//                    }
-//
-//                    List<String> channelIds = new ArrayList<>();
-//                    for (JsonNode item : searchRoot.get("items")) {
-//                        String channelId = item.path("id").path("channelId").asText();
-//                        channelIds.add(channelId);
-//                    }
-//                    return Mono.just(channelIds);
-//                });
-//    }
-
-
     // 채널 ID로 Channel 객체 생성
     public Channel getChannelById(String channelId) {
+        return getChannelByIdAsync(channelId).block();
+    }
+
+    // 채널 ID로 Channel 객체 생성 (비동기, 채널이 없으면 empty)
+    public Mono<Channel> getChannelByIdAsync(String channelId) {
         log.info("getChannelById {}", channelId);
 
-        JsonNode root = webClient.get()
-                .uri(uriBuilder -> uriBuilder
+        return get(uriBuilder -> uriBuilder
                         .path("/channels")
                         .queryParam("part", "snippet,contentDetails,statistics")
+                        .queryParam("fields", FieldsProjection.listOf(ChannelResource.class))
                         .queryParam("id", channelId)
-                        .queryParam("key", apiKey)
-                        .build())
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
-
-        if (root == null || !root.has("items") || root.get("items").isEmpty()) {
-            log.info("Youtube API로부터 비정상적인 응답을 받았습니다 {} ", channelId);
-            return null;
-//            throw new RuntimeException("채널 정보를 찾을 수 없습니다: " + channelId);
-        }
+                        .build(), CHANNEL_LIST)
+                .flatMap(response -> {
+                    if (response.items().isEmpty()) {
+                        log.info("Youtube API로부터 비정상적인 응답을 받았습니다 {} ", channelId);
+                        return Mono.empty();
+                    }
+                    return Mono.just(decoder.toChannel(response.items().get(0)));
+                });
+    }
+
+    // 채널 ID 여러 개로 Channel 목록 생성
+    public List<Channel> getChannelsByIds(Collection<String> channelIds) {
+        return getChannelsByIdsAsync(channelIds).collectList().block();
+    }
 
-        JsonNode item = root.get("items").get(0);
-        String name = item.path("snippet").path("title").asText();
-        String description = item.path("snippet").path("description").asText();
-        String thumbnailUrl = item.path("snippet").path("thumbnails").path("high").path("url").asText();
-        String uploadsPlaylistId = item.path("contentDetails").path("relatedPlaylists").path("uploads").asText();
+    // 채널 ID 여러 개로 Channel 목록 생성 (비동기, 50개씩 묶어서 요청, 없는 채널은 결과에서 빠짐)
+    public Flux<Channel> getChannelsByIdsAsync(Collection<String> channelIds) {
+        log.info("getChannelsByIds {}", channelIds);
 
-        JsonNode subsNode = item.path("statistics").path("subscriberCount");
-        Long subscriberCount = subsNode.isMissingNode() || subsNode.asText().isEmpty() ? 0L : Long.parseLong(subsNode.asText());
+        return Flux.fromIterable(channelIds)
+                .distinct()
+                .buffer(MAX_IDS_PER_REQUEST)
+                .concatMap(this::getChannelChunk)
+                .contextWrite(QuotaPriorityContext.capture());
+    }
 
-        return Channel.builder()
-                .id(channelId)
-                .uploadsPlaylistId(uploadsPlaylistId)
-                .name(name)
-                .description(description)
-                .searchCount(0)
-//                .lastSelectAt(LocalDateTime.now())
-                .thumbnailUrl(thumbnailUrl)
-                .subscriberCount(subscriberCount)
-                .commentStatus(CommentStatus.COMMENT_NONE)
-                .build();
+    private Flux<Channel> getChannelChunk(List<String> channelIds) {
+        return get(uriBuilder -> uriBuilder
+                        .path("/channels")
+                        .queryParam("part", "snippet,contentDetails,statistics")
+                        .queryParam("fields", FieldsProjection.listOf(ChannelResource.class))
+                        .queryParam("id", String.join(",", channelIds))
+                        .build(), CHANNEL_LIST)
+                .flatMapIterable(YoutubeListResponse::items)
+                .map(decoder::toChannel);
     }
 
     // 채널에서 최근 비디오 limit만큼 가져오기
     public List<Video> getVideosByChannel(Channel channel, int limit) {
+        return getVideosByChannelAsync(channel, limit).collectList().block();
+    }
+
+    // 채널에서 최근 비디오 limit만큼 가져오기 (비동기, nextPageToken을 따라 페이지를 이어서 요청)
+    public Flux<Video> getVideosByChannelAsync(Channel channel, int limit) {
+        return getVideoPagesByChannelAsync(channel, limit)
+                .flatMapIterable(Function.identity());
+    }
+
+    // 채널에서 최근 비디오 limit만큼 페이지 단위로 가져오기
+    // 각 playlistItems 페이지는 도착하는 즉시 내보내므로, 다음 페이지를 받는 동안 앞 페이지 작업을 시작할 수 있음
+    public Flux<List<Video>> getVideoPagesByChannelAsync(Channel channel, int limit) {
+        return getVideoPagesByChannelAsync(channel, limit, video -> false);
+    }
+
+    // 업로드 목록은 최신순이므로 stopAt 에 걸리는 비디오(이미 가진 비디오)를 만나면 그 앞까지만 내보내고 페이지 요청을 멈춤
+    public Flux<List<Video>> getVideoPagesByChannelAsync(Channel channel, int limit, Predicate<Video> stopAt) {
         log.info("getVideosByChannel {}", channel);
-        List<Video> videos = new ArrayList<>();
 
+        return getVideoPage(channel, null, limit, stopAt)
+                .expand(page -> page.remaining() > 0 && page.nextPageToken() != null
+                        ? getVideoPage(channel, page.nextPageToken(), page.remaining(), stopAt)
+                        : Mono.empty())
+                .map(VideoPage::videos)
+                .filter(videos -> !videos.isEmpty())
+                .contextWrite(QuotaPriorityContext.capture());
+    }
+
+    private Mono<VideoPage> getVideoPage(Channel channel, String pageToken, int remaining, Predicate<Video> stopAt) {
         String uploadsPlaylistId = channel.getUploadsPlaylistId();
-        String nextPageToken = null;
-        int remaining = limit;
-
-        do {
-            int maxResults = Math.min(remaining, 50); // 한 번에 가져올 수 있는 최대 50
-            final String currentPageToken = nextPageToken;
-
-            JsonNode root = webClient.get()
-                    .uri(uriBuilder -> {
-                        uriBuilder.path("/playlistItems")
-                                .queryParam("part", "snippet")
-                                .queryParam("playlistId", uploadsPlaylistId)
-                                .queryParam("maxResults", maxResults)
-                                .queryParam("key", apiKey);
-
-                        if (currentPageToken != null) {
-                            uriBuilder.queryParam("pageToken", currentPageToken);
-                        }
+        int maxResults = Math.min(remaining, 50); // 한 번에 가져올 수 있는 최대 50
 
-                        return uriBuilder.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .block();
+        return get(uriBuilder -> {
+                    uriBuilder.path("/playlistItems")
+                            .queryParam("part", "snippet")
+                            .queryParam("fields", FieldsProjection.listOf(PlaylistItemResource.class))
+                            .queryParam("playlistId", uploadsPlaylistId)
+                            .queryParam("maxResults", maxResults);
 
-            if (root == null || !root.has("items")) {
-                log.warn("Youtube API로부터 비정상적인 비디오 목록 응답을 받았습니다.");
-                return null;
-            }
+                    if (pageToken != null) {
+                        uriBuilder.queryParam("pageToken", pageToken);
+                    }
 
-            for (JsonNode item : root.get("items")) {
-                JsonNode snippet = item.path("snippet");
-                String videoId = snippet.path("resourceId").path("videoId").asText();
-                String videoTitle = snippet.path("title").asText();
-                // --- 썸네일 폴백 로직 시작 ---
-                JsonNode thumbnailsNode = snippet.path("thumbnails");
-                String videoThumbnail;
-                if (thumbnailsNode.has("maxres")) {
-                    videoThumbnail = thumbnailsNode.path("maxres").path("url").asText();
-                } else if (thumbnailsNode.has("standard")) {
-                    videoThumbnail = thumbnailsNode.path("standard").path("url").asText();
-                } else if (thumbnailsNode.has("high")) {
-                    videoThumbnail = thumbnailsNode.path("high").path("url").asText();
-                } else if (thumbnailsNode.has("medium")) {
-                    videoThumbnail = thumbnailsNode.path("medium").path("url").asText();
-                } else {
-                    videoThumbnail = thumbnailsNode.path("default").path("url").asText();
-                }
-                // --- 썸네일 폴백 로직 끝 ---
-                LocalDateTime videoPublishedAt = OffsetDateTime
-                        .parse(snippet.path("publishedAt").asText())
-                        .toLocalDateTime();
-
-                videos.add(Video.builder()
-                        .id(videoId)
-                        .title(videoTitle)
-                        .channel(channel)
-                        .thumbnailUrl(videoThumbnail)
-                        .publishedAt(videoPublishedAt)
-                        .build()
-                );
-            }
+                    return uriBuilder.build();
+                }, PLAYLIST_ITEM_LIST)
+                .map(response -> {
+                    List<Video> videos = new ArrayList<>(response.items().size());
+                    for (PlaylistItemResource item : response.items()) {
+                        Video video = decoder.toVideo(channel, item);
+                        if (stopAt.test(video)) {
+                            return new VideoPage(videos, null, remaining - videos.size());
+                        }
+                        videos.add(video);
+                    }
+                    return new VideoPage(videos, response.nextPageToken(), remaining - videos.size());
+                });
+    }
 
-            remaining -= root.get("items").size();
-            nextPageToken = root.has("nextPageToken") ? root.path("nextPageToken").asText() : null;
+    private record VideoPage(List<Video> videos, String nextPageToken, int remaining) {
+    }
 
-        } while (remaining > 0 && nextPageToken != null);
+    // 비디오 ID 최대 50개의 썸네일 URL 조회 (비동기, videoId -> thumbnailUrl, 없는 비디오는 빠짐)
+    public Mono<Map<String, String>> getVideoThumbnailsAsync(List<String> videoIds) {
+        log.info("getVideoThumbnails size={}", videoIds.size());
 
-        return videos;
+        return get(uriBuilder -> uriBuilder
+                        .path("/videos")
+                        .queryParam("part", "snippet")
+                        .queryParam("fields", FieldsProjection.listOf(VideoResource.class))
+                        .queryParam("id", String.join(",", videoIds))
+                        .build(), VIDEO_LIST)
+                .map(response -> {
+                    Map<String, String> thumbnails = new HashMap<>();
+                    for (VideoResource item : response.items()) {
+                        thumbnails.put(item.id(), decoder.thumbnailUrl(item.snippet() == null ? null : item.snippet().thumbnails()));
+                    }
+                    return thumbnails;
+                });
     }
 
 
-    //비디오의 최상위 댓글들 모두 가져오기 (페이징, maxResults 최대 100)
+    //비디오의 최상위 댓글들 모두 가져오기 (limit 이 100을 넘으면 nextPageToken을 따라 이어서 요청)
     public List<Comment> getCommentsByVideo(Video video, int limit) {
-        log.info("getCommentsByVideo {}", video);
-        List<Comment> comments = new ArrayList<>();
+        return getCommentsByVideoAsync(video, limit).collectList().block();
+    }
 
-        String videoId = video.getId();
+    //비디오의 최상위 댓글들 모두 가져오기 (비동기)
+    public Flux<Comment> getCommentsByVideoAsync(Video video, int limit) {
+        return getCommentPagesByVideoAsync(video, CommentHarvestPlan.of(limit))
+                .flatMapIterable(Function.identity());
+    }
 
-        JsonNode root = webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/commentThreads")
-                        .queryParam("part", "snippet")
-                        .queryParam("videoId", videoId)
-                        .queryParam("maxResults", limit)
-                        .queryParam("order", "relevance")      // 좋아요/추천 위주
-                        .queryParam("key", apiKey)
-                        .build())
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
-
-        if (root == null || !root.has("items")) {
-            log.info("Youtube API로부터 비정상적인 응답을 받았습니다 {} ", videoId);
-            return null;
-        }
+    /**
+     * 비디오 하나의 댓글을 모아서 첫 페이지 etag 와 함께 반환
+     * knownEtag(저장된 video.comments_etag)가 있으면 If-None-Match 로 보내고, 304 면 댓글 요청을 더 하지 않고 unchanged
+     */
+    public Mono<CommentSnapshot> getCommentSnapshotAsync(Video video, int limit, String knownEtag) {
+        log.info("getCommentSnapshot {}, limit {}, conditional {}", video, limit, knownEtag != null);
+
+        CommentHarvestPlan plan = CommentHarvestPlan.of(limit);
+        return getCommentThreads(video, null, maxResults(plan, 0), knownEtag)
+                .flatMap(first -> {
+                    if (first.notModified()) {
+                        return Mono.just(CommentSnapshot.unchanged(video, knownEtag));
+                    }
+                    return Mono.just(toCommentPage(video, plan, first.body(), 0, 0))
+                            .expand(page -> page.hasNext(plan)
+                                    ? getCommentPage(video, plan, page.nextPageToken(), page.collected(), page.pages())
+                                    : Mono.empty())
+                            .flatMapIterable(CommentPage::comments)
+                            .collectList()
+                            .map(comments -> CommentSnapshot.changed(video, comments, first.body().etag(), knownEtag != null));
+                })
+                .contextWrite(QuotaPriorityContext.capture());
+    }
+
+    // 댓글 스레드를 페이지 단위로 가져오기
+    // 다음 페이지는 앞 페이지를 받은 뒤 필요할 때만 요청하므로, 전체 결과를 메모리에 모으지 않고 흘려보낼 수 있음
+    public Flux<List<Comment>> getCommentPagesByVideoAsync(Video video, CommentHarvestPlan plan) {
+        log.info("getCommentsByVideo {}, plan {}", video, plan);
+
+        return getCommentPage(video, plan, null, 0, 0)
+                .expand(page -> page.hasNext(plan)
+                        ? getCommentPage(video, plan, page.nextPageToken(), page.collected(), page.pages())
+                        : Mono.empty())
+                .map(CommentPage::comments)
+                .contextWrite(QuotaPriorityContext.capture());
+    }
+
+    private Mono<CommentPage> getCommentPage(Video video, CommentHarvestPlan plan, String pageToken, int collected, int pages) {
+        return getCommentThreads(video, pageToken, maxResults(plan, collected), null)
+                .map(fetched -> toCommentPage(video, plan, fetched.body(), collected, pages));
+    }
+
+    private int maxResults(CommentHarvestPlan plan, int collected) {
+        return Math.max(1, Math.min(plan.targetCount() - collected, CommentHarvestPlan.MAX_PAGE_SIZE));
+    }
 
-        for (JsonNode item : root.get("items")) {
-            JsonNode snippet = item.path("snippet").path("topLevelComment").path("snippet");
-
-            String commentId = item.path("snippet").path("topLevelComment").path("id").asText();
-            String authorId = snippet.path("authorChannelId").path("value").asText(null); // null 허용
-            String authorName = snippet.path("authorDisplayName").asText();
-            String authorThumbnail = snippet.path("authorProfileImageUrl").asText(null); // null 허용
-            String content = snippet.path("textDisplay").asText();
-            int likeCount = snippet.path("likeCount").asInt(0);
-            int replyCount = item.path("snippet").path("totalReplyCount").asInt(0);
-            LocalDateTime publishedAt = OffsetDateTime
-                    .parse(snippet.path("publishedAt").asText())
-                    .toLocalDateTime();
-
-            Comment comment = Comment.builder()
-                    .id(commentId)
-                    .authorId(authorId)
-                    .authorName(authorName)
-                    .authorThumbnailUrl(authorThumbnail)
-                    .content(content)
-                    .likeCount(likeCount)
-                    .publishedAt(publishedAt)
-                    .replyCount(replyCount)
-                    .video(video)
-                    .build();
-
-            comments.add(comment);
+    private CommentPage toCommentPage(Video video, CommentHarvestPlan plan, YoutubeListResponse<CommentThreadResource> body,
+                                      int collected, int pages) {
+        int remaining = plan.targetCount() - collected;
+        List<CommentThreadResource> items = body.items();
+        List<Comment> comments = new ArrayList<>(items.size());
+        for (CommentThreadResource item : items) {
+            Comment comment = decoder.toComment(video, item);
+            if (comment.getLikeCount() >= plan.minLikeCount() && comments.size() < remaining) {
+                comments.add(comment);
+            }
         }
 
-        return comments;
+        // 기준 이상 댓글이 한 페이지에 하나도 없으면 뒤 페이지도 가망이 없다고 보고 중단
+        boolean belowThreshold = plan.minLikeCount() > 0 && !items.isEmpty() && comments.isEmpty();
+        String nextPageToken = belowThreshold ? null : body.nextPageToken();
+
+        return new CommentPage(comments, nextPageToken, collected + comments.size(), pages + 1);
+    }
+
+    // 댓글 스레드는 메모리 캐시에 두지 않고, 호출한 쪽이 저장된 etag 를 넘길 때만 조건부 요청
+    private Mono<Fetched<YoutubeListResponse<CommentThreadResource>>> getCommentThreads(Video video, String pageToken,
+                                                                                        int maxResults, String knownEtag) {
+        String videoId = video.getId();
+
+        return conditionalGet(uriBuilder -> {
+                    uriBuilder.path("/commentThreads")
+                            .queryParam("part", "snippet")
+                            .queryParam("fields", FieldsProjection.listOf(CommentThreadResource.class))
+                            .queryParam("videoId", videoId)
+                            .queryParam("maxResults", maxResults)
+                            .queryParam("order", "relevance");      // 좋아요/추천 위주
+
+                    if (pageToken != null) {
+                        uriBuilder.queryParam("pageToken", pageToken);
+                    }
+
+                    return uriBuilder.build();
+                }, COMMENT_THREAD_LIST, false, knownEtag);
+    }
+
+    private record CommentPage(List<Comment> comments, String nextPageToken, int collected, int pages) {
+
+        boolean hasNext(CommentHarvestPlan plan) {
+            return nextPageToken != null && collected < plan.targetCount() && pages < plan.maxPages();
+        }
     }
 
     // 대댓글 가져오기
     public ReplyResponseDto getRepliesByComment(String commentId, String pageToken) {
+        return getRepliesByCommentAsync(commentId, pageToken).block();
+    }
+
+    // 대댓글 가져오기 (비동기)
+    public Mono<ReplyResponseDto> getRepliesByCommentAsync(String commentId, String pageToken) {
         log.info("getRepliesByComment {} pageToken {}", commentId, pageToken);
 
-        JsonNode root = webClient.get()
-                .uri(uriBuilder -> {
+        return get(uriBuilder -> {
                     uriBuilder.path("/comments")
                             .queryParam("part", "snippet")
+                            .queryParam("fields", FieldsProjection.listOf(CommentResource.class))
                             .queryParam("parentId", commentId)
-                            .queryParam("maxResults", 10)
-                            .queryParam("key", apiKey);
+                            .queryParam("maxResults", 10);
 
                     if (pageToken != null) {
                         uriBuilder.queryParam("pageToken", pageToken);
                     }
 
                     return uriBuilder.build();
-                })
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .block();
-
-        if (root == null || !root.has("items")) {
-            log.info("Youtube API로부터 비정상적인 응답을 받았습니다 {} ", commentId);
-            return null;
-        }
-
-        ReplyResponseDto replyResponseDto = new ReplyResponseDto(root.path("nextPageToken").asText(null));
+                }, COMMENT_LIST)
+                .map(decoder::toReplyResponse);
+    }
 
-        for (JsonNode item : root.get("items")) {
-            JsonNode snippet = item.path("snippet");
+    private <T> Mono<T> get(Function<UriBuilder, URI> uriFunction, ParameterizedTypeReference<T> type) {
+        return conditionalGet(uriFunction, type, true, null).map(Fetched::body);
+    }
 
-            String authorName = snippet.path("authorDisplayName").asText();
-            String authorThumbnail = snippet.path("authorProfileImageUrl").asText();
-            String content = snippet.path("textDisplay").asText();
-            int likeCount = snippet.path("likeCount").asInt(0);
-            LocalDateTime publishedAt = OffsetDateTime
-                    .parse(snippet.path("publishedAt").asText())
-                    .toLocalDateTime();
+    /**
+     * 이전 응답의 etag 를 If-None-Match 로 보내고, 304 면 다시 내려받거나 파싱하지 않고 캐시된 디코딩 결과를 돌려준다.
+     * - cacheable: 메모리 캐시(키는 key 파라미터를 뺀 요청 URI)에서 etag 와 결과를 찾고, 새 응답을 보관
+     * - knownEtag: 메모리 캐시 대신 호출한 쪽이 가진 etag 로 조건부 요청, 304 면 body 없이 notModified
+     */
+    private <T> Mono<Fetched<T>> conditionalGet(Function<UriBuilder, URI> uriFunction, ParameterizedTypeReference<T> type,
+                                                boolean cacheable, String knownEtag) {
+        URI uri = uriFunction.apply(uriBuilderFactory.builder());
+        String cacheKey = ConditionalRequestCache.keyOf(uri);
+        YoutubeEndpoint endpoint = YoutubeEndpoint.fromPath(uri.getPath());
+        QuotaPriority assembledPriority = QuotaPriorityContext.current();
+
+        return Mono.defer(() -> {
+            ConditionalRequestCache.Entry cached = cacheable
+                    ? conditionalRequestCache.get(cacheKey)
+                    : knownEtag == null ? null : new ConditionalRequestCache.Entry(knownEtag, null, 0);
+
+            // 일시 오류는 재시도, 구글이 계속 실패하면 서킷 브레이커가 바로 실패시킴
+            return resilience.execute(endpoint, exchange(uri, endpoint, cacheKey, cached, cacheable, assembledPriority, type));
+        });
+    }
 
-            ReplyCommentDto replyCommentDto = ReplyCommentDto.builder()
-                    .name(authorName)
-                    .ThumbnailUrl(authorThumbnail)
-                    .content(content)
-                    .likeCount(likeCount)
-                    .createdAt(publishedAt)
-                    .build();
+    /**
+     * 풀에서 고른 키를 붙여 요청한다.
+     * 그 키가 quotaExceeded 를 받으면 키를 소진 처리하고, 남은 키가 있으면 다음 키로 다시 요청
+     * 재시도/키 교체로 다시 구독될 때마다 실제 요청이 나가므로 쿼터 장부도 구독마다 차감
+     */
+    private <T> Mono<Fetched<T>> exchange(URI uri, YoutubeEndpoint endpoint, String cacheKey, ConditionalRequestCache.Entry cached,
+                                          boolean cacheable, QuotaPriority assembledPriority, ParameterizedTypeReference<T> type) {
+        return Mono.deferContextual(context -> {
+            // 구글에 보내기 전에 쿼터 장부에서 비용 차감 (우선순위 몫을 넘으면 여기서 실패)
+            quotaLedger.charge(endpoint, context.getOrDefault(QuotaPriority.class, assembledPriority));
+
+            ApiKeyPool.ApiKey apiKey = apiKeyPool.acquire(endpoint);
+            URI keyedUri = UriComponentsBuilder.fromUri(uri)
+                    .replaceQueryParam("key", apiKey.value())
+                    .build(true)
+                    .toUri();
+
+            return webClient.get()
+                    .uri(keyedUri)
+                    .headers(headers -> {
+                        if (cached != null) {
+                            headers.setIfNoneMatch(cached.etag());
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        if (cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                            @SuppressWarnings("unchecked")
+                            T body = (T) cached.body();
+                            return response.releaseBody().thenReturn(new Fetched<>(body, true));
+                        }
+                        if (response.statusCode().isError()) {
+                            return response.createError();
+                        }
+                        // 캐시 크기를 응답 바이트로 재기 위해 본문을 바이트로 받아서 직접 역직렬화
+                        return response.bodyToMono(byte[].class)
+                                .map(bytes -> {
+                                    T body = decode(bytes, type);
+                                    if (cacheable && body instanceof YoutubeListResponse<?> listResponse && listResponse.etag() != null) {
+                                        conditionalRequestCache.put(cacheKey, listResponse.etag(), body, bytes.length);
+                                    }
+                                    return new Fetched<>(body, false);
+                                });
+                    })
+                    .onErrorResume(WebClientResponseException.class, e -> {
+                        if (!isQuotaExceeded(e)) {
+                            return Mono.error(e);
+                        }
+                        apiKeyPool.markExhausted(apiKey);
+                        if (!apiKeyPool.hasAvailable()) {
+                            return Mono.error(e);
+                        }
+                        log.info("API 키 교체 후 재요청 {}", endpoint);
+                        return exchange(uri, endpoint, cacheKey, cached, cacheable, assembledPriority, type);
+                    });
+        });
+    }
 
-            replyResponseDto.getReplyComments().add(replyCommentDto);
+    private <T> T decode(byte[] bytes, ParameterizedTypeReference<T> type) {
+        try {
+            return objectMapper.readValue(bytes, objectMapper.getTypeFactory().constructType(type.getType()));
+        } catch (IOException e) {
+            throw new YoutubeApiFailedException("Failed to decode Youtube API response", e);
         }
+    }
+
+    private boolean isQuotaExceeded(WebClientResponseException e) {
+        return YoutubeErrorReason.isQuotaExceeded(e, objectMapper);
+    }
 
-        return replyResponseDto;
+    private record Fetched<T>(T body, boolean notModified) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package youtube.youtube_api_practice.client;
+
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.client.response.ChannelResource;
+import youtube.youtube_api_practice.client.response.CommentResource;
+import youtube.youtube_api_practice.client.response.CommentThreadResource;
+import youtube.youtube_api_practice.client.response.PlaylistItemResource;
+import youtube.youtube_api_practice.client.response.Thumbnails;
+import youtube.youtube_api_practice.client.response.YoutubeListResponse;
+import youtube.youtube_api_practice.domain.Channel;
+import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.CommentStatus;
+import youtube.youtube_api_practice.domain.Video;
+import youtube.youtube_api_practice.dto.ReplyCommentDto;
+import youtube.youtube_api_practice.dto.ReplyResponseDto;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * 타입 응답 레코드 -> 도메인 객체 변환
+ * JsonNode 트리를 만들지 않고 역직렬화된 레코드에서 바로 도메인 객체를 만든다.
+ */
+@Component
+public class YoutubeDecoder {
+
+    public Channel toChannel(ChannelResource item) {
+        ChannelResource.Snippet snippet = item.snippet();
+        ChannelResource.ContentDetails contentDetails = item.contentDetails();
+        ChannelResource.Statistics statistics = item.statistics();
+
+        String thumbnailUrl = snippet == null || snippet.thumbnails() == null ? null : url(snippet.thumbnails().high());
+        String uploadsPlaylistId = contentDetails == null || contentDetails.relatedPlaylists() == null
+                ? null : contentDetails.relatedPlaylists().uploads();
+        String subscriberCount = statistics == null ? null : statistics.subscriberCount();
+
+        return Channel.builder()
+                .id(item.id())
+                .uploadsPlaylistId(text(uploadsPlaylistId))
+                .name(text(snippet == null ? null : snippet.title()))
+                .description(text(snippet == null ? null : snippet.description()))
+                .searchCount(0)
+                .thumbnailUrl(text(thumbnailUrl))
+                .subscriberCount(subscriberCount == null || subscriberCount.isEmpty() ? 0L : Long.parseLong(subscriberCount))
+                .commentStatus(CommentStatus.COMMENT_NONE)
+                .build();
+    }
+
+    public Video toVideo(Channel channel, PlaylistItemResource item) {
+        PlaylistItemResource.Snippet snippet = item.snippet();
+
+        return Video.builder()
+                .id(text(snippet.resourceId() == null ? null : snippet.resourceId().videoId()))
+                .title(text(snippet.title()))
+                .channel(channel)
+                .thumbnailUrl(thumbnailUrl(snippet.thumbnails()))
+                .publishedAt(dateTime(snippet.publishedAt()))
+                .build();
+    }
+
+    public Comment toComment(Video video, CommentThreadResource item) {
+        CommentResource topLevelComment = item.snippet().topLevelComment();
+        CommentResource.Snippet snippet = topLevelComment.snippet();
+
+        return Comment.builder()
+                .id(text(topLevelComment.id()))
+                .authorId(snippet.authorChannelId() == null ? null : snippet.authorChannelId().value()) // null 허용
+                .authorName(text(snippet.authorDisplayName()))
+                .authorThumbnailUrl(snippet.authorProfileImageUrl()) // null 허용
+                .content(text(snippet.textDisplay()))
+                .likeCount(snippet.likeCount())
+                .publishedAt(dateTime(snippet.publishedAt()))
+                .replyCount(item.snippet().totalReplyCount())
+                .video(video)
+                .build();
+    }
+
+    public ReplyResponseDto toReplyResponse(YoutubeListResponse<CommentResource> response) {
+        ReplyResponseDto replyResponseDto = new ReplyResponseDto(response.nextPageToken());
+
+        for (CommentResource item : response.items()) {
+            CommentResource.Snippet snippet = item.snippet();
+
+            ReplyCommentDto replyCommentDto = ReplyCommentDto.builder()
+                    .name(text(snippet.authorDisplayName()))
+                    .ThumbnailUrl(text(snippet.authorProfileImageUrl()))
+                    .content(text(snippet.textDisplay()))
+                    .likeCount(snippet.likeCount())
+                    .createdAt(dateTime(snippet.publishedAt()))
+                    .build();
+
+            replyResponseDto.getReplyComments().add(replyCommentDto);
+        }
+
+        return replyResponseDto;
+    }
+
+    // 썸네일 폴백 로직: maxres > standard > high > medium > default
+    public String thumbnailUrl(Thumbnails thumbnails) {
+        if (thumbnails == null) {
+            return "";
+        } else if (thumbnails.maxres() != null) {
+            return url(thumbnails.maxres());
+        } else if (thumbnails.standard() != null) {
+            return url(thumbnails.standard());
+        } else if (thumbnails.high() != null) {
+            return url(thumbnails.high());
+        } else if (thumbnails.medium() != null) {
+            return url(thumbnails.medium());
+        } else {
+            return text(url(thumbnails.defaultThumbnail()));
+        }
+    }
+
+    private String url(Thumbnails.Thumbnail thumbnail) {
+        return thumbnail == null ? null : text(thumbnail.url());
+    }
+
+    private LocalDateTime dateTime(String value) {
+        return OffsetDateTime.parse(value).toLocalDateTime();
+    }
+
+    // JsonNode.asText() 와 같이 값이 없으면 빈 문자열
+    private String text(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,48 @@
+package youtube.youtube_api_practice.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * YouTube 오류 응답의 error.errors[].reason 판별
+ * 키 교체(YoutubeApi)와 예외 변환(YoutubeProvider)이 같은 기준으로 판단하도록 한 곳에서 파싱
+ *
+ * {"error":{"code":403,"errors":[{"domain":"youtube.quota","reason":"quotaExceeded"}]}}
+ */
+@Slf4j
+public final class YoutubeErrorReason {
+
+    public static final String QUOTA_EXCEEDED = "quotaExceeded";
+
+    private YoutubeErrorReason() {
+    }
+
+    public static boolean isQuotaExceeded(WebClientResponseException e, ObjectMapper objectMapper) {
+        return has(e, HttpStatus.FORBIDDEN, QUOTA_EXCEEDED, objectMapper);
+    }
+
+    public static boolean has(WebClientResponseException e, HttpStatus status, String reason, ObjectMapper objectMapper) {
+        if (e.getStatusCode() != status) {
+            return false;
+        }
+        for (JsonNode error : errors(e, objectMapper)) {
+            if (reason.equals(error.path("reason").asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JsonNode errors(WebClientResponseException e, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.readTree(e.getResponseBodyAsString()).path("error").path("errors");
+        } catch (JsonProcessingException jsonEx) {
+            log.warn("JSON 파싱 중 오류 발생");
+            return objectMapper.missingNode();
+        }
+    }
+}
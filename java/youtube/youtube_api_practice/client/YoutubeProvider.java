@@ -1,15 +1,14 @@
 package youtube.youtube_api_practice.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.support.ResourceTransactionManager;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import youtube.youtube_api_practice.domain.Channel;
 import youtube.youtube_api_practice.domain.Comment;
 import youtube.youtube_api_practice.domain.Video;
@@ -17,8 +16,11 @@ import youtube.youtube_api_practice.dto.ReplyResponseDto;
 import youtube.youtube_api_practice.exception.ChannelNotFoundException;
 import youtube.youtube_api_practice.exception.QuotaExceededException;
 import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
+import youtube.youtube_api_practice.quota.QuotaLedger;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
@@ -27,28 +29,25 @@ public class YoutubeProvider {
 
     private final YoutubeApi youtubeApi;
     private final ObjectMapper objectMapper;
+    private final QuotaLedger quotaLedger;
+    private final SingleFlight singleFlight; // 같은 호출이 동시에 들어오면 HTTP 요청 하나로 합침
 
     public List<String> fetchChannelIds(String search) {
+        return fetchChannelIdsAsync(search).block();
+    }
+
+    public Mono<List<String>> fetchChannelIdsAsync(String search) {
         log.info("fetchChannelIds {}", search);
 
-        try {
-            List<String> result = youtubeApi.getChannelIdsBySearch(search);
-            if (result == null) {
-                throw new YoutubeApiFailedException("Failed to call Youtube API for searchChannelIds: " + search);
-            }
-            return result;
-        } catch (WebClientRequestException e) {
-            throw new YoutubeApiFailedException("Failed to request Youtube API for searchChannelIds: " + search, e);
-        } catch (WebClientResponseException e) {
-            String reason = getReasonFromError(e);
-
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "quotaExceeded".equals(reason)) {
-                log.warn("유튜브 쿼터를 모두 사용함");
-                throw new QuotaExceededException("YouTube API quota exceeded");
-            }
-
-            throw new YoutubeApiFailedException("Failed to response Youtube API for searchChannelIds: " + search, e);
-        }
+        return singleFlight.execute("search", search, () -> requestChannelIds(search));
+    }
+
+    private Mono<List<String>> requestChannelIds(String search) {
+        return youtubeApi.getChannelIdsBySearchAsync(search)
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for searchChannelIds: " + search, e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for searchChannelIds: " + search));
     }
 
 //    {
@@ -69,117 +68,191 @@ public class YoutubeProvider {
 //    }
 
     public Channel fetchChannel(String channelId) {
+        return fetchChannelAsync(channelId).block();
+    }
+
+    public Mono<Channel> fetchChannelAsync(String channelId) {
         log.info("fetchChannel {}", channelId);
 
-        try {
-            Channel channel = youtubeApi.getChannelById(channelId);
-            if (channel == null) {
-                throw new ChannelNotFoundException("Channel not found with id: " + channelId);
-            }
-            return channel;
-        } catch (WebClientRequestException e) {
-            throw new YoutubeApiFailedException("Failed to request Youtube API for channel: " + channelId, e);
-        } catch (WebClientResponseException e) {
-            String reason = getReasonFromError(e);
-
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "quotaExceeded".equals(reason)) {
-                log.warn("유튜브 쿼터를 모두 사용함");
-                throw new QuotaExceededException("YouTube API quota exceeded");
-            }
-
-            throw new YoutubeApiFailedException("Failed to response Youtube API for channel: " + channelId, e);
-        }
+        return singleFlight.execute("channel", channelId, () -> requestChannel(channelId));
+    }
+
+    private Mono<Channel> requestChannel(String channelId) {
+        return youtubeApi.getChannelByIdAsync(channelId)
+                .switchIfEmpty(Mono.error(() -> new ChannelNotFoundException("Channel not found with id: " + channelId)))
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for channel: " + channelId, e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for channel: " + channelId));
+    }
+
+    public List<Channel> fetchChannels(Collection<String> channelIds) {
+        return fetchChannelsAsync(channelIds).collectList().block();
+    }
+
+    public Flux<Channel> fetchChannelsAsync(Collection<String> channelIds) {
+        log.info("fetchChannels {}", channelIds);
+
+        return singleFlight.execute("channels", flightKey(channelIds), () -> requestChannels(channelIds).collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    private Flux<Channel> requestChannels(Collection<String> channelIds) {
+        return youtubeApi.getChannelsByIdsAsync(channelIds)
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for channels: " + channelIds, e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for channels: " + channelIds));
     }
 
     public List<Video> fetchVideos(Channel channel, int limit) {
+        return fetchVideosAsync(channel, limit).collectList().block();
+    }
+
+    public Flux<Video> fetchVideosAsync(Channel channel, int limit) {
         log.info("fetchVideos {}, limit {}", channel, limit);
 
-        try {
-            List<Video> videos = youtubeApi.getVideosByChannel(channel, limit);
-            if (videos == null) {
-                throw new YoutubeApiFailedException("Failed to call Youtube API for videos: " + channel.getId());
-            }
-            return videos;
-        } catch (WebClientRequestException e) {
-            throw new YoutubeApiFailedException("Failed to request Youtube API for videos: " + channel.getId(), e);
-        } catch (WebClientResponseException e) {
-            String reason = getReasonFromError(e);
-
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "quotaExceeded".equals(reason)) {
-                log.warn("유튜브 쿼터를 모두 사용함");
-                throw new QuotaExceededException("YouTube API quota exceeded");
-            }
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND && "playlistNotFound".equals(reason)) {
-                log.warn("채널에 비디오가 없음");
-                return new ArrayList<>();
-            }
-
-            throw new YoutubeApiFailedException("Failed to response Youtube API for videos: " + channel.getId(), e);
-        }
+        return singleFlight.execute("videos", channel.getId() + ":" + limit, () -> requestVideos(channel, limit).collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    // 페이지가 도착하는 대로 내보냄 (스트리밍이라 single-flight 로 합치지 않음)
+    public Flux<List<Video>> fetchVideoPagesAsync(Channel channel, int limit) {
+        log.info("fetchVideoPages {}, limit {}", channel, limit);
+
+        return translateVideoErrors(youtubeApi.getVideoPagesByChannelAsync(channel, limit), channel);
+    }
+
+    // 증분 동기화: 이미 가진 가장 최근 비디오(newestKnown)에 닿으면 페이지 요청을 멈추고 그보다 새 비디오만 가져옴
+    public List<Video> fetchNewVideos(Channel channel, int limit, Video newestKnown) {
+        return fetchNewVideoPagesAsync(channel, limit, newestKnown)
+                .flatMapIterable(Function.identity())
+                .collectList()
+                .block();
+    }
+
+    public Flux<List<Video>> fetchNewVideoPagesAsync(Channel channel, int limit, Video newestKnown) {
+        log.info("fetchNewVideoPages {}, limit {}, newestKnown {}", channel, limit, newestKnown.getId());
+
+        // 최신 비디오가 삭제됐을 수도 있으므로 게시일이 같거나 이전이면 이미 본 구간으로 봄
+        Predicate<Video> known = video -> video.getId().equals(newestKnown.getId())
+                || (newestKnown.getPublishedAt() != null && video.getPublishedAt() != null
+                && !video.getPublishedAt().isAfter(newestKnown.getPublishedAt()));
+
+        return translateVideoErrors(youtubeApi.getVideoPagesByChannelAsync(channel, limit, known), channel);
+    }
+
+    private Flux<Video> requestVideos(Channel channel, int limit) {
+        return translateVideoErrors(youtubeApi.getVideosByChannelAsync(channel, limit), channel);
+    }
+
+    private <T> Flux<T> translateVideoErrors(Flux<T> videos, Channel channel) {
+        return videos
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    if (hasReason(e, HttpStatus.NOT_FOUND, "playlistNotFound")) {
+                        log.warn("채널에 비디오가 없음");
+                        return Flux.empty();
+                    }
+                    return Flux.error(e);
+                })
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for videos: " + channel.getId(), e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for videos: " + channel.getId()));
     }
 
     public List<Comment> fetchComments(Video video, int limit) {
+        return fetchCommentsAsync(video, limit).collectList().block();
+    }
+
+    public Flux<Comment> fetchCommentsAsync(Video video, int limit) {
         log.info("fetchComments {}, limit {}", video, limit);
+        return singleFlight.execute("comments", video.getId() + ":" + limit,
+                        () -> translateCommentErrors(youtubeApi.getCommentsByVideoAsync(video, limit), video).collectList())
+                .flatMapIterable(Function.identity());
+    }
 
-        try {
-            List<Comment> comments = youtubeApi.getCommentsByVideo(video, limit);
-            if (comments == null) {
-                throw new YoutubeApiFailedException("Failed to call Youtube API for comments: " + video.getId());
-            }
-            return comments;
-        } catch (WebClientRequestException e) {
-            throw new YoutubeApiFailedException("Failed to request Youtube API for comments: " + video.getId(), e);
-        } catch (WebClientResponseException e) {
-            String reason = getReasonFromError(e);
-
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "commentsDisabled".equals(reason)) {
-                log.warn("댓글이 비활성화된 동영상입니다. videoId={}, 응답 본문: {}", video.getId(), e.getResponseBodyAsString());
-                return new ArrayList<>();
-            }
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND && "videoNotFound".equals(reason)) {
-                log.warn("존재하지 않는 동영상입니다. videoId={}, 응답 본문: {}", video.getId(), e.getResponseBodyAsString());
-                return new ArrayList<>();
-            }
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "quotaExceeded".equals(reason)) {
-                log.warn("유튜브 쿼터를 모두 사용함");
-                throw new QuotaExceededException("YouTube API quota exceeded");
-            }
-
-            throw new YoutubeApiFailedException("Failed to response Youtube API for comments: " + video.getId(), e);
-        }
+    // knownEtag 는 저장된 video.comments_etag, 그 뒤로 바뀌지 않은 비디오(304)는 unchanged -> 저장할 필요 없음
+    // 댓글이 비활성화됐거나 없는 비디오는 empty
+    public Mono<CommentSnapshot> fetchCommentSnapshotAsync(Video video, int limit, String knownEtag) {
+        log.info("fetchCommentSnapshot {}, limit {}", video, limit);
+        return singleFlight.execute("commentSnapshot", video.getId() + ":" + limit + ":" + knownEtag,
+                () -> translateCommentErrors(youtubeApi.getCommentSnapshotAsync(video, limit, knownEtag).flux(), video).next());
+    }
+
+    // 페이지가 도착하는 대로 내보냄, 깊게 수집할 때 페이지 단위로 바로 저장하기 위함
+    public Flux<List<Comment>> fetchCommentPagesAsync(Video video, CommentHarvestPlan plan) {
+        log.info("fetchCommentPages {}, plan {}", video, plan);
+        return translateCommentErrors(youtubeApi.getCommentPagesByVideoAsync(video, plan), video);
+    }
+
+    private <T> Flux<T> translateCommentErrors(Flux<T> comments, Video video) {
+        return comments
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    if (hasReason(e, HttpStatus.FORBIDDEN, "commentsDisabled")) {
+                        log.warn("댓글이 비활성화된 동영상입니다. videoId={}, 응답 본문: {}", video.getId(), e.getResponseBodyAsString());
+                        return Flux.empty();
+                    }
+                    if (hasReason(e, HttpStatus.NOT_FOUND, "videoNotFound")) {
+                        log.warn("존재하지 않는 동영상입니다. videoId={}, 응답 본문: {}", video.getId(), e.getResponseBodyAsString());
+                        return Flux.empty();
+                    }
+                    return Flux.error(e);
+                })
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for comments: " + video.getId(), e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for comments: " + video.getId()));
+    }
+
+    public Mono<Map<String, String>> fetchVideoThumbnailsAsync(List<String> videoIds) {
+        log.info("fetchVideoThumbnails size={}", videoIds.size());
+
+        return singleFlight.execute("videoThumbnails", flightKey(videoIds), () -> requestVideoThumbnails(videoIds));
+    }
+
+    private Mono<Map<String, String>> requestVideoThumbnails(List<String> videoIds) {
+        return youtubeApi.getVideoThumbnailsAsync(videoIds)
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for video thumbnails: " + videoIds, e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for video thumbnails: " + videoIds));
     }
 
     public ReplyResponseDto fetchReply(String commentId, String pageToken) {
+        return fetchReplyAsync(commentId, pageToken).block();
+    }
+
+    public Mono<ReplyResponseDto> fetchReplyAsync(String commentId, String pageToken) {
         log.info("fetchReply {} pageToken {}", commentId, pageToken);
 
-        try {
-            ReplyResponseDto responseDto = youtubeApi.getRepliesByComment(commentId, pageToken);
-            if (responseDto == null) {
-                throw new YoutubeApiFailedException("Failed to call Youtube API for replies: " + commentId);
-            }
-            return responseDto;
-        } catch (WebClientRequestException e) {
-            throw new YoutubeApiFailedException("Failed to request Youtube API for replies: " + commentId, e);
-        } catch (WebClientResponseException e) {
-            String reason = getReasonFromError(e);
-
-            if (e.getStatusCode() == HttpStatus.FORBIDDEN && "quotaExceeded".equals(reason)) {
-                log.warn("유튜브 쿼터를 모두 사용함");
-                throw new QuotaExceededException("YouTube API quota exceeded");
-            }
-
-            throw new YoutubeApiFailedException("Failed to response Youtube API for replies: " + commentId, e);
-        }
+        return singleFlight.execute("replies", commentId + ":" + pageToken, () -> requestReply(commentId, pageToken));
     }
 
-    private String getReasonFromError(WebClientResponseException e) {
-        try {
-            String responseBody = e.getResponseBodyAsString();
-            JsonNode root = objectMapper.readTree(responseBody);
-            return root.path("error").path("errors").get(0).path("reason").asText();
-        } catch (JsonProcessingException | NullPointerException jsonEx) {
-            log.warn("JSON 파싱 중 오류 발생");
-            return null;
+    private Mono<ReplyResponseDto> requestReply(String commentId, String pageToken) {
+        return youtubeApi.getRepliesByCommentAsync(commentId, pageToken)
+                .onErrorMap(WebClientRequestException.class,
+                        e -> new YoutubeApiFailedException("Failed to request Youtube API for replies: " + commentId, e))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> translateError(e, "Failed to response Youtube API for replies: " + commentId));
+    }
+
+    // 쿼터 초과는 QuotaExceededException으로, 나머지 응답 오류는 YoutubeApiFailedException으로 변환
+    private RuntimeException translateError(WebClientResponseException e, String message) {
+        if (YoutubeErrorReason.isQuotaExceeded(e, objectMapper)) {
+            log.warn("유튜브 쿼터를 모두 사용함");
+            quotaLedger.markExhausted();
+            return new QuotaExceededException("YouTube API quota exceeded");
         }
+        return new YoutubeApiFailedException(message, e);
+    }
+
+    // 순서와 중복에 상관없이 같은 id 묶음이면 같은 키
+    private String flightKey(Collection<String> ids) {
+        return String.join(",", new TreeSet<>(ids));
+    }
+
+    private boolean hasReason(WebClientResponseException e, HttpStatus status, String reason) {
+        return YoutubeErrorReason.has(e, status, reason, objectMapper);
     }
 }
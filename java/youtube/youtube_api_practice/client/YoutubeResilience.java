@@ -0,0 +1,188 @@
+package youtube.youtube_api_practice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
+import youtube.youtube_api_practice.quota.YoutubeEndpoint;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 일시적인 YouTube 장애에 대한 재시도 + 엔드포인트별 서킷 브레이커
+ * - 재시도 대상: 연결/타임아웃 오류, 5xx, 429 (쿼터 초과, 404 같은 응답은 재시도하지 않음)
+ * - 재시도 간격은 지수 백오프 + 지터
+ * - 엔드포인트별로 연속 실패가 쌓이면 OPEN 으로 바꾸고, 정해진 시간 동안은 구글에 보내지 않고 바로 실패
+ *   시간이 지나면 HALF_OPEN 으로 요청 하나만 보내보고 성공하면 CLOSED 로 복귀
+ */
+@Slf4j
+@Component
+public class YoutubeResilience {
+
+    private final Map<YoutubeEndpoint, CircuitBreaker> breakers = new EnumMap<>(YoutubeEndpoint.class);
+    private final Map<YoutubeEndpoint, Counter> retryCounters = new EnumMap<>(YoutubeEndpoint.class);
+    private final Map<YoutubeEndpoint, Counter> rejectedCounters = new EnumMap<>(YoutubeEndpoint.class);
+
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+
+    public YoutubeResilience(MeterRegistry meterRegistry,
+                             @Value("${youtube.resilience.max-retries:3}") int maxRetries,
+                             @Value("${youtube.resilience.min-backoff-ms:200}") long minBackoffMs,
+                             @Value("${youtube.resilience.max-backoff-ms:3000}") long maxBackoffMs,
+                             @Value("${youtube.resilience.jitter:0.5}") double jitter,
+                             @Value("${youtube.resilience.breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${youtube.resilience.breaker.open-ms:30000}") long openMs) {
+        this.maxRetries = maxRetries;
+        this.minBackoff = Duration.ofMillis(minBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.jitter = jitter;
+
+        for (YoutubeEndpoint endpoint : YoutubeEndpoint.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(endpoint, failureThreshold, Duration.ofMillis(openMs));
+            breakers.put(endpoint, breaker);
+
+            // 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+            Gauge.builder("youtube.circuit.state", breaker, b -> b.getState().ordinal())
+                    .tag("endpoint", endpoint.name())
+                    .register(meterRegistry);
+            retryCounters.put(endpoint, Counter.builder("youtube.retry.attempts")
+                    .tag("endpoint", endpoint.name())
+                    .register(meterRegistry));
+            rejectedCounters.put(endpoint, Counter.builder("youtube.circuit.rejected")
+                    .tag("endpoint", endpoint.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // call 은 구독할 때마다 새 HTTP 요청을 보내야 함 (재시도 시 다시 구독)
+    public <T> Mono<T> execute(YoutubeEndpoint endpoint, Mono<T> call) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+
+        Mono<T> guarded = Mono.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                rejectedCounters.get(endpoint).increment();
+                return Mono.error(new YoutubeApiFailedException("Circuit open for Youtube API endpoint: " + endpoint));
+            }
+            return call
+                    .doOnSuccess(result -> breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isTransient(e)) {
+                            breaker.onFailure();
+                        } else if (e instanceof WebClientResponseException) {
+                            // 4xx 같은 응답은 구글이 정상 동작 중이라는 뜻
+                            breaker.onSuccess();
+                        } else {
+                            // 쿼터 장부 거절 등 요청을 보내지 않은 실패는 상태를 바꾸지 않음
+                            breaker.releaseProbe();
+                        }
+                    })
+                    // 다른 요청 실패로 체인이 취소되면 결과 없이 끝나므로 시험 요청 자리만 돌려놓음
+                    .doOnCancel(breaker::releaseProbe);
+        });
+
+        return guarded.retryWhen(Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(jitter)
+                .filter(this::isTransient)
+                .doBeforeRetry(signal -> {
+                    retryCounters.get(endpoint).increment();
+                    log.warn("YouTube API 일시 오류로 재시도 endpoint={}, attempt={}, cause={}",
+                            endpoint, signal.totalRetries() + 1, signal.failure().toString());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private boolean isTransient(Throwable e) {
+        if (e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private static final class CircuitBreaker {
+
+        private final YoutubeEndpoint endpoint;
+        private final int failureThreshold;
+        private final Duration openDuration;
+
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean probeInFlight;
+
+        private CircuitBreaker(YoutubeEndpoint endpoint, int failureThreshold, Duration openDuration) {
+            this.endpoint = endpoint;
+            this.failureThreshold = failureThreshold;
+            this.openDuration = openDuration;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDuration.toMillis()) {
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                // HALF_OPEN 에서는 시험 요청 하나만 통과
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            if (state != State.CLOSED) {
+                transition(State.CLOSED);
+            }
+        }
+
+        synchronized void releaseProbe() {
+            probeInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            probeInFlight = false;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                openedAt = System.currentTimeMillis();
+                transition(State.OPEN);
+            }
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        private void transition(State next) {
+            if (state != next) {
+                log.warn("서킷 브레이커 상태 변경 endpoint={}, {} -> {}", endpoint, state, next);
+                state = next;
+            }
+        }
+    }
+}
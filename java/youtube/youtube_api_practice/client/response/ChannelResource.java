@@ -0,0 +1,24 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /channels 응답 item
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChannelResource(String id, Snippet snippet, ContentDetails contentDetails, Statistics statistics) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(String title, String description, Thumbnails thumbnails) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ContentDetails(RelatedPlaylists relatedPlaylists) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record RelatedPlaylists(String uploads) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Statistics(String subscriberCount) {
+    }
+}
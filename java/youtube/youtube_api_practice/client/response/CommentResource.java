@@ -0,0 +1,21 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /comments 응답 item, commentThreads의 topLevelComment
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CommentResource(String id, Snippet snippet) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(String authorDisplayName,
+                          String authorProfileImageUrl,
+                          AuthorChannelId authorChannelId,
+                          String textDisplay,
+                          int likeCount,
+                          String publishedAt) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record AuthorChannelId(String value) {
+    }
+}
@@ -0,0 +1,12 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /commentThreads 응답 item
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CommentThreadResource(Snippet snippet) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(CommentResource topLevelComment, int totalReplyCount) {
+    }
+}
@@ -0,0 +1,51 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 응답 레코드가 실제로 읽는 필드만으로 YouTube partial response 의 fields 파라미터를 만든다.
+ * ex) PlaylistItemResource ->
+ *   etag,nextPageToken,items(snippet(title,publishedAt,thumbnails(maxres(url),...),resourceId(videoId)))
+ *
+ * 레코드에 필드를 추가하면 요청하는 fields 도 자동으로 따라간다.
+ */
+public final class FieldsProjection {
+
+    private static final Map<Class<?>, String> CACHE = new ConcurrentHashMap<>();
+
+    private FieldsProjection() {
+    }
+
+    // YoutubeListResponse<itemType> 응답용 fields
+    public static String listOf(Class<? extends Record> itemType) {
+        return CACHE.computeIfAbsent(itemType,
+                type -> fieldsOf(YoutubeListResponse.class, type));
+    }
+
+    private static String fieldsOf(Class<?> recordType, Class<?> itemType) {
+        StringJoiner joiner = new StringJoiner(",");
+
+        for (RecordComponent component : recordType.getRecordComponents()) {
+            String name = jsonName(component);
+
+            if (recordType == YoutubeListResponse.class && name.equals("items")) {
+                joiner.add(name + "(" + fieldsOf(itemType, null) + ")");
+            } else if (component.getType().isRecord()) {
+                joiner.add(name + "(" + fieldsOf(component.getType(), null) + ")");
+            } else {
+                joiner.add(name);
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static String jsonName(RecordComponent component) {
+        JsonProperty property = component.getAccessor().getAnnotation(JsonProperty.class);
+        return property != null && !property.value().isEmpty() ? property.value() : component.getName();
+    }
+}
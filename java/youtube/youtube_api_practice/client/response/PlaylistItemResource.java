@@ -0,0 +1,16 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /playlistItems 응답 item
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PlaylistItemResource(Snippet snippet) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(String title, String publishedAt, Thumbnails thumbnails, ResourceId resourceId) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ResourceId(String videoId) {
+    }
+}
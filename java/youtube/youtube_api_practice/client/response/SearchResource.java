@@ -0,0 +1,12 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /search 응답 item
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SearchResource(ResourceId id) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ResourceId(String channelId) {
+    }
+}
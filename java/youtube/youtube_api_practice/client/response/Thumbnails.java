@@ -0,0 +1,16 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Thumbnails(Thumbnail maxres,
+                         Thumbnail standard,
+                         Thumbnail high,
+                         Thumbnail medium,
+                         @JsonProperty("default") Thumbnail defaultThumbnail) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Thumbnail(String url) {
+    }
+}
@@ -0,0 +1,12 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// /videos 응답 item
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record VideoResource(String id, Snippet snippet) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(Thumbnails thumbnails) {
+    }
+}
@@ -0,0 +1,18 @@
+package youtube.youtube_api_practice.client.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * YouTube Data API list 응답의 공통 틀 (items + 페이지 토큰)
+ * 필요한 필드만 선언하고 나머지는 스트리밍 파서가 건너뛴다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record YoutubeListResponse<T>(String etag, String nextPageToken, List<T> items) {
+
+    // fields 로 응답을 줄이면 결과가 없을 때 items 자체가 빠질 수 있으므로 빈 목록으로 취급
+    public YoutubeListResponse {
+        items = items == null ? List.of() : items;
+    }
+}
@@ -0,0 +1,142 @@
+package youtube.youtube_api_practice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 이름 있는 bounded 스레드 풀
+ * - interactiveSyncExecutor: 사용자가 기다리는 동기화
+ * - responseExecutor: 동기화를 기다린 요청의 후속 DB 조회 (짧은 작업 전용)
+ * - backgroundSyncExecutor: 기다리는 사람이 없는 동기화
+ * - streamExecutor: SSE 이벤트 전송과 스트림 마무리 조회
+ * - searchExecutor: 채널 검색 @Async
+ * - crawlerExecutor: 관리자 일괄 크롤링 (종료 시 남은 채널은 기다리지 않고 취소)
+ * - housekeepingScheduler: @Scheduled 작업 (taskScheduler 이름으로도 등록해서 스프링 스케줄러가 사용)
+ * 풀마다 executor.active / executor.queued / executor.pool.size / executor.queue.remaining / executor.rejected 메트릭 (name 태그)
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ExecutorProperties.class)
+public class AsyncConfig {
+
+    public static final String INTERACTIVE_SYNC = "interactiveSyncExecutor";
+    public static final String BACKGROUND_SYNC = "backgroundSyncExecutor";
+    public static final String RESPONSE = "responseExecutor";
+    public static final String STREAM = "streamExecutor";
+    public static final String SEARCH = "searchExecutor";
+    public static final String CRAWLER = "crawlerExecutor";
+
+    @Bean(INTERACTIVE_SYNC)
+    public ThreadPoolTaskExecutor interactiveSyncExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor(INTERACTIVE_SYNC, "interactive-sync-", properties.getInteractiveSync(), meterRegistry);
+    }
+
+    @Bean(BACKGROUND_SYNC)
+    public ThreadPoolTaskExecutor backgroundSyncExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor(BACKGROUND_SYNC, "background-sync-", properties.getBackgroundSync(), meterRegistry);
+    }
+
+    @Bean(RESPONSE)
+    public ThreadPoolTaskExecutor responseExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor(RESPONSE, "response-", properties.getResponse(), meterRegistry);
+    }
+
+    @Bean(STREAM)
+    public ThreadPoolTaskExecutor streamExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor(STREAM, "stream-", properties.getStream(), meterRegistry);
+    }
+
+    @Bean(SEARCH)
+    public ThreadPoolTaskExecutor searchExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor(SEARCH, "search-", properties.getSearch(), meterRegistry);
+    }
+
+    @Bean(CRAWLER)
+    public ThreadPoolTaskExecutor crawlerExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = executor(CRAWLER, "crawler-", properties.getCrawler(), meterRegistry);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean(name = {"housekeepingScheduler", "taskScheduler"})
+    public ThreadPoolTaskScheduler housekeepingScheduler(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getHousekeepingPoolSize());
+        scheduler.setThreadNamePrefix("housekeeping-");
+        scheduler.setErrorHandler(e -> log.error("스케줄 작업 실패", e));
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+
+        Gauge.builder("executor.active", scheduler, ThreadPoolTaskScheduler::getActiveCount)
+                .tag("name", "housekeepingScheduler")
+                .register(meterRegistry);
+        Gauge.builder("executor.pool.size", scheduler, ThreadPoolTaskScheduler::getPoolSize)
+                .tag("name", "housekeepingScheduler")
+                .register(meterRegistry);
+        return scheduler;
+    }
+
+    // initialize 는 스프링이 빈 초기화 때 호출하므로 여기서는 설정만, 메트릭은 샘플링 시점에 읽음
+    private ThreadPoolTaskExecutor executor(String name, String threadNamePrefix, ExecutorProperties.Pool pool,
+                                            MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(Math.max(pool.getCoreSize(), pool.getMaxSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        if (pool.isVirtualThreads()) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+
+        Counter rejected = Counter.builder("executor.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler(countingRejection(rejectionHandler(pool.getRejection()), rejected, name));
+
+        Gauge.builder("executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.queue.remaining", executor, e -> e.getQueueCapacity() - e.getQueueSize())
+                .tag("name", name)
+                .register(meterRegistry);
+
+        log.info("executor {} core={}, max={}, queue={}, rejection={}, virtualThreads={}", name,
+                pool.getCoreSize(), pool.getMaxSize(), pool.getQueueCapacity(), pool.getRejection(), pool.isVirtualThreads());
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(ExecutorProperties.Rejection rejection) {
+        return switch (rejection) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+        };
+    }
+
+    private RejectedExecutionHandler countingRejection(RejectedExecutionHandler delegate, Counter rejected, String name) {
+        return (task, pool) -> {
+            rejected.increment();
+            log.warn("executor {} 가득 참 active={}, queued={}", name, pool.getActiveCount(), pool.getQueue().size());
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+}
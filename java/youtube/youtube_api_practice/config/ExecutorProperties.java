@@ -0,0 +1,68 @@
+package youtube.youtube_api_practice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 비동기 작업용 스레드 풀 설정 (executor.*)
+ * 블로킹 I/O 는 전부 여기 풀에서 돌리고 공용 ForkJoinPool 은 쓰지 않음
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "executor")
+public class ExecutorProperties {
+
+    // 사용자가 기다리는 초기/부분 동기화 (작업 하나가 몇 분씩 걸릴 수 있음)
+    private Pool interactiveSync = new Pool(4, 4, 100, Rejection.ABORT);
+
+    // 확장 동기화 등 기다리는 사람이 없는 동기화
+    private Pool backgroundSync = new Pool(2, 2, 500, Rejection.ABORT);
+
+    // 동기화를 기다린 요청의 후속 DB 조회 (짧은 작업만, 동기화 풀과 나눠서 긴 동기화 뒤에 줄 서지 않게)
+    // 가득 차면 완료를 알린 스레드에서 직접 실행
+    private Pool response = new Pool(4, 8, 200, Rejection.CALLER_RUNS);
+
+    // SSE 이벤트 전송 (Reactor Netty 이벤트 루프에서 블로킹 send 를 하지 않도록)
+    private Pool stream = new Pool(2, 4, 1000, Rejection.ABORT);
+
+    // 관리자 일괄 크롤링, 채널 하나가 작업 하나 (크롤링을 시작할 때 채널 수만큼 한꺼번에 넣으므로 큐가 큼)
+    private Pool crawler = new Pool(4, 4, 10000, Rejection.ABORT);
+
+    // 채널 검색 (@Async), 가득 차면 요청 스레드에서 직접 실행
+    private Pool search = new Pool(4, 16, 200, Rejection.CALLER_RUNS);
+
+    // @Scheduled 작업 (작업 폴링, 캐시 정리, 주기 갱신)
+    private int housekeepingPoolSize = 4;
+
+    public enum Rejection {
+        ABORT,       // RejectedExecutionException
+        CALLER_RUNS  // 제출한 스레드에서 실행
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private Rejection rejection;
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        // true 면 풀 스레드를 가상 스레드로 (JDK 21+), 큐 제한과 거절 정책은 그대로
+        private boolean virtualThreads = false;
+
+        public Pool() {
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, Rejection rejection) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.rejection = rejection;
+        }
+    }
+}
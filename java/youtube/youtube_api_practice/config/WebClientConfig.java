@@ -1,21 +1,83 @@
 package youtube.youtube_api_practice.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(YoutubeHttpProperties.class)
 public class WebClientConfig {
 
+    public static final String YOUTUBE_BASE_URL = "https://www.googleapis.com/youtube/v3";
+
+    // YoutubeApi 가 요청 전에 URI 를 직접 만들 수 있도록 WebClient 와 같은 팩토리를 공유
+    @Bean
+    public UriBuilderFactory youtubeUriBuilderFactory(YoutubeHttpProperties properties) {
+        if (!YOUTUBE_BASE_URL.equals(properties.getBaseUrl())) {
+            log.warn("youtube API base URL 변경됨: {}", properties.getBaseUrl());
+        }
+        return new DefaultUriBuilderFactory(properties.getBaseUrl());
+    }
+
+    // 동기화 중 몰리는 짧은 요청들이 커넥션을 재사용하도록 전용 풀 사용
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider youtubeConnectionProvider(YoutubeHttpProperties properties) {
+        return ConnectionProvider.builder("youtube")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInBackground())
+                .metrics(properties.isMetrics())
+                .build();
+    }
+
     @Bean
-    public WebClient youtubeWebClient() {
+    public WebClient youtubeWebClient(UriBuilderFactory youtubeUriBuilderFactory,
+                                      ConnectionProvider youtubeConnectionProvider,
+                                      YoutubeHttpProperties properties) {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
 
+        long readTimeoutMillis = properties.getReadTimeout().toMillis();
+
+        HttpClient httpClient = HttpClient.create(youtubeConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.getResponseTimeout())
+                // 요청 단위 read timeout: 커넥션이 풀로 돌아갈 때 핸들러도 함께 제거됨
+                .doOnRequest((request, connection) ->
+                        connection.addHandlerFirst(new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .compress(properties.isCompress())
+                // 쿼리 스트링(key 포함)은 태그에서 제외
+                .metrics(properties.isMetrics(), uri -> uri.split("\\?")[0]);
+
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        log.info("youtube WebClient 설정 maxConnections={}, responseTimeout={}, compress={}, http2={}",
+                properties.getMaxConnections(), properties.getResponseTimeout(), properties.isCompress(), properties.isHttp2());
+
         return  WebClient.builder()
-                .baseUrl("https://www.googleapis.com/youtube/v3")
+                .uriBuilderFactory(youtubeUriBuilderFactory)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(strategies)
                 .build();
     }
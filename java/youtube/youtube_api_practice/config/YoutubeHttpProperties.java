@@ -0,0 +1,43 @@
+package youtube.youtube_api_practice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * googleapis.com 호출용 HTTP 전송 설정 (youtube.http.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "youtube.http")
+public class YoutubeHttpProperties {
+
+    // 로컬 stub 서버로 돌릴 때 변경 ex) http://localhost:8080/stub/youtube/v3
+    private String baseUrl = WebClientConfig.YOUTUBE_BASE_URL;
+
+    // 커넥션 풀
+    private int maxConnections = 100;
+    private int pendingAcquireMaxCount = 500;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    // 유휴/오래된 커넥션 정리
+    private Duration maxIdleTime = Duration.ofSeconds(20);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+    // 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    // gzip Accept-Encoding 및 응답 압축 해제
+    private boolean compress = true;
+
+    // HTTP/2 (ALPN 으로 협상, 안 되면 HTTP/1.1)
+    private boolean http2 = false;
+
+    // 커넥션 풀 / 클라이언트 Micrometer 메트릭
+    private boolean metrics = true;
+}
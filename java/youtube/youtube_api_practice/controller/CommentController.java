@@ -3,11 +3,18 @@ package youtube.youtube_api_practice.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import youtube.youtube_api_practice.dto.CommentPageResult;
 import youtube.youtube_api_practice.dto.CommentResponseDto;
 import youtube.youtube_api_practice.dto.ReplyResponseDto;
 import youtube.youtube_api_practice.service.CommentService;
+import youtube.youtube_api_practice.service.CommentStreamService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 
 import jakarta.servlet.http.HttpServletRequest; // 새로 추가
@@ -19,16 +26,41 @@ import jakarta.servlet.http.HttpServletRequest; // 새로 추가
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStreamService commentStreamService;
 
     // /youtube/api/comments/UCUj6rrhMTR9pipbAWBAMvUQ
     @GetMapping("/comments/{channelId}")
-    public CompletableFuture<Page<CommentResponseDto>> getComments(@PathVariable String channelId,
+    public CompletableFuture<ResponseEntity<Page<CommentResponseDto>>> getComments(@PathVariable String channelId,
                                                 @RequestParam(defaultValue = "0") int page,
                                                 @RequestParam(defaultValue = "10") int size,
+                                                @RequestParam(required = false) Long budgetMs, // 첫 방문 채널 대기 시간 제한
                                                 HttpServletRequest request) { // HttpServletRequest 파라미터 추가
-        log.info("getComments {} page={} size={}", channelId, page, size);
+        log.info("getComments {} page={} size={} budgetMs={}", channelId, page, size, budgetMs);
 
-        return commentService.getComments(channelId, page, size, request); // service 메서드 호출 시 request 전달
+        return commentService.getComments(channelId, page, size, budgetMs, request) // service 메서드 호출 시 request 전달
+                .thenApply(this::withFreshness);
+    }
+
+    // 데이터가 언제 동기화됐는지, 백그라운드 갱신 중인지를 헤더로 내려줌
+    private ResponseEntity<Page<CommentResponseDto>> withFreshness(CommentPageResult result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Data-Refreshing", String.valueOf(result.isRefreshing()));
+
+        // 제한 시간 안에 아무것도 동기화되지 않았으면 시각 헤더는 생략
+        if (result.getLastSyncedAt() != null) {
+            long ageSeconds = Math.max(0, Duration.between(result.getLastSyncedAt(), LocalDateTime.now()).toSeconds());
+            response.header("X-Data-Synced-At", result.getLastSyncedAt().toString())
+                    .header("X-Data-Age-Seconds", String.valueOf(ageSeconds));
+        }
+        return response.body(result.getPage());
+    }
+
+    // 첫 방문 채널도 비디오별 댓글을 받는 대로 보여줄 수 있게 SSE 로 내려줌
+    @GetMapping(value = "/comments/{channelId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(@PathVariable String channelId,
+                                     @RequestParam(defaultValue = "10") int size) {
+        log.info("streamComments {} size={}", channelId, size);
+        return commentStreamService.streamComments(channelId, size);
     }
 
     @GetMapping("/comments/{channelId}/moreComments")
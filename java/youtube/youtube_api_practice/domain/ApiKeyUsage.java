@@ -0,0 +1,47 @@
+package youtube.youtube_api_practice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * API 키별 하루 사용량 (재시작/여러 인스턴스 사이에서 키 선택이 그날 쓴 양을 반영하도록)
+ * 키 원문은 남기지 않고 해시(key_id)로만 구분
+ */
+@Entity
+@Table(name = "api_key_usage")
+@IdClass(ApiKeyUsage.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ApiKeyUsage {
+
+    // 쿼터가 초기화되는 태평양 시간 기준 날짜
+    @Id
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    @Id
+    @Column(name = "key_id")
+    private String keyId;
+
+    @Column(name = "used_units", nullable = false)
+    private long usedUnits;
+
+    // 구글이 이 키로 quotaExceeded 를 돌려줌
+    @Column(nullable = false)
+    private boolean exhausted;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate usageDate;
+        private String keyId;
+    }
+}
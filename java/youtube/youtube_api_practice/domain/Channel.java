@@ -49,6 +49,10 @@ public class Channel implements Persistable<String> {
     @Column(name = "comment_status", nullable = false, length = 50)
     private CommentStatus commentStatus = CommentStatus.COMMENT_NONE;
 
+    // 변경분만 받는 동기화에서 댓글이 바뀐 비디오 비율 (0~1, 최근 값에 가중치를 둔 평균)
+    @Column(name = "comment_churn")
+    private Double commentChurn;
+
 
     @Builder
     public Channel(String id, String uploadsPlaylistId, String name, String description, int searchCount,
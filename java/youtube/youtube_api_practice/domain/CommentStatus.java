@@ -2,6 +2,7 @@ package youtube.youtube_api_practice.domain;
 
 public enum CommentStatus {
     COMMENT_NONE,
+    COMMENT_PARTIAL, // 시간 제한 안에서 최신 영상 몇 개만 동기화됨, 나머지(BASIC)는 백그라운드로 이어서
     COMMENT_BASIC,
     COMMENT_EXTENDED,
     COMMENT_FULL
@@ -0,0 +1,23 @@
+package youtube.youtube_api_practice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "quota_usage")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class QuotaUsage {
+
+    // 쿼터가 초기화되는 태평양 시간 기준 날짜
+    @Id
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    @Column(name = "used_units", nullable = false)
+    private long usedUnits;
+}
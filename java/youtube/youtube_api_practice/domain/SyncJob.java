@@ -0,0 +1,73 @@
+package youtube.youtube_api_practice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB에 남는 채널 동기화 작업
+ * - dedupe_key(채널:단계)는 대기/실행 중에만 값이 있고 끝나면 NULL 이 되어, 같은 작업이 동시에 두 번 쌓이지 않음
+ * - 워커는 FOR UPDATE SKIP LOCKED 로 작업을 가져가고 lease_until 까지 점유, 갱신이 끊기면 다른 워커가 다시 가져감
+ * - priority 는 쿼터 우선순위 (ordinal 로 저장, 작을수록 먼저 가져감), 워커는 그 우선순위로 실행
+ *   주기 갱신(BACKGROUND) 작업이 대기 중일 때 사용자가 같은 작업을 요청하면 INTERACTIVE 로 올라감
+ */
+@Entity
+@Table(name = "sync_job",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sync_job_dedupe_key", columnNames = "dedupe_key"),
+        indexes = @Index(name = "idx_sync_job_status", columnList = "status, priority, lease_until"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SyncJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Column(name = "channel_id", nullable = false)
+    private String channelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sync_level", nullable = false)
+    private SyncLevel syncLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncJobStatus status;
+
+    @Column(name = "dedupe_key")
+    private String dedupeKey;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private QuotaPriority priority;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "error_code")
+    private String errorCode;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static String dedupeKeyOf(String channelId, SyncLevel syncLevel) {
+        return channelId + ":" + syncLevel;
+    }
+}
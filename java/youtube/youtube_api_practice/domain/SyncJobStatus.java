@@ -0,0 +1,8 @@
+package youtube.youtube_api_practice.domain;
+
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
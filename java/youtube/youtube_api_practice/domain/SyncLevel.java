@@ -0,0 +1,9 @@
+package youtube.youtube_api_practice.domain;
+
+// 채널 댓글 동기화 단계
+public enum SyncLevel {
+    PARTIAL,    // 최신 영상 몇 개만 (첫 방문 시간 제한용), 끝나면 BASIC 작업을 이어서 등록
+    BASIC,      // 최근 영상 33개, 영상당 댓글 30개
+    EXTENDED,   // 최근 영상 100개 (이미 확장된 채널은 증분)
+    REFRESH_KNOWN // 이미 저장된 최근 영상들의 댓글 갱신 (BULK), 증분 EXTENDED/관리자 갱신 뒤에 따로 등록
+}
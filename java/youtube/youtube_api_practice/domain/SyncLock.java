@@ -0,0 +1,33 @@
+package youtube.youtube_api_practice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채널 동기화 락 (lease 방식)
+ * - 행이 있고 lease_until 이 지나지 않았으면 owner 가 락을 가진 것
+ * - 잡은 쪽이 주기적으로 lease 를 연장하고, 인스턴스가 죽어서 연장이 끊기면 lease 가 끝난 뒤 다른 쪽이 가져감
+ */
+@Entity
+@Table(name = "sync_lock")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SyncLock {
+
+    @Id
+    @Column(name = "lock_name")
+    private String lockName;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
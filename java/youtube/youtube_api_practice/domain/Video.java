@@ -33,6 +33,10 @@ public class Video implements Persistable<String> {
     @Column(name = "thumbnail_url", columnDefinition = "TEXT")
     private String thumbnailUrl;
 
+    // 마지막으로 저장한 댓글 스레드 첫 페이지 etag (댓글이 커밋된 뒤에만 기록)
+    @Column(name = "comments_etag")
+    private String commentsEtag;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "channel_id", nullable = false)
     private Channel channel;
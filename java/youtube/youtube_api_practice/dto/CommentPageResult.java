@@ -0,0 +1,24 @@
+package youtube.youtube_api_practice.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 페이지와 그 데이터가 얼마나 오래됐는지에 대한 정보
+ * 컨트롤러가 응답 헤더로 내려서 프론트에서 갱신 시각을 보여줄 수 있게 함
+ */
+@Getter
+public class CommentPageResult {
+
+    private final Page<CommentResponseDto> page;
+    private final LocalDateTime lastSyncedAt;
+    private final boolean refreshing;
+
+    public CommentPageResult(Page<CommentResponseDto> page, LocalDateTime lastSyncedAt, boolean refreshing) {
+        this.page = page;
+        this.lastSyncedAt = lastSyncedAt;
+        this.refreshing = refreshing;
+    }
+}
@@ -0,0 +1,8 @@
+package youtube.youtube_api_practice.exception;
+
+
+public class SyncLockTimeoutException extends RuntimeException {
+    public SyncLockTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,202 @@
+package youtube.youtube_api_practice.quota;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import youtube.youtube_api_practice.domain.ApiKeyUsage;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.repository.quota.ApiKeyUsageJdbcRepository.Delta;
+import youtube.youtube_api_practice.repository.quota.ApiKeyUsageRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 프로젝트의 API 키를 묶어서 쓰는 풀
+ * - 키마다 오늘 쓴 쿼터 단위와 quotaExceeded 여부를 따로 기록
+ * - 요청마다 아직 살아있는 키 중 가장 적게 쓴 키를 고름 (least-loaded)
+ * - 키 하나가 quotaExceeded 를 받으면 그 키만 오늘 하루 빼고 나머지 키로 계속 호출
+ * - 키별 사용량/소진 여부는 쿼터 장부처럼 주기적으로 api_key_usage 에 더하고 다시 읽어서, 재시작/여러 인스턴스 사이에서도 유지
+ *
+ * youtube.api.keys 가 없으면 기존 youtube.api.key 하나로 동작
+ */
+@Slf4j
+@Component
+public class ApiKeyPool {
+
+    private final ApiKeyUsageRepository apiKeyUsageRepository;
+    private final List<ApiKey> keys = new ArrayList<>();
+    private final long dailyLimitPerKey;
+
+    private LocalDate day;
+
+    public ApiKeyPool(ApiKeyUsageRepository apiKeyUsageRepository,
+                      @Value("${youtube.api.keys:${youtube.api.key}}") List<String> keyValues,
+                      @Value("${youtube.quota.daily-limit:10000}") long dailyLimitPerKey) {
+        this.apiKeyUsageRepository = apiKeyUsageRepository;
+        for (String value : keyValues) {
+            if (!value.isBlank()) {
+                keys.add(new ApiKey(value.trim()));
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("youtube.api.keys 또는 youtube.api.key 설정이 필요합니다.");
+        }
+        this.dailyLimitPerKey = dailyLimitPerKey;
+        this.day = QuotaLedger.today();
+        log.info("API 키 {}개 등록, 키당 일일 쿼터 {}", keys.size(), dailyLimitPerKey);
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        day = QuotaLedger.today();
+        merge(apiKeyUsageRepository.findAllByUsageDate(day));
+        log.info("API 키 사용량 불러옴 day={}, keys={}", day, keys);
+    }
+
+    // 이번 호출에 쓸 키를 고르고 비용을 그 키에 기록, 쓸 수 있는 키가 없으면 QuotaExceededException
+    public synchronized ApiKey acquire(YoutubeEndpoint endpoint) {
+        rollOverIfNewDay();
+
+        ApiKey key = keys.stream()
+                .filter(k -> !k.exhausted && k.usedUnits + endpoint.getCost() <= dailyLimitPerKey)
+                .min(Comparator.comparingLong(k -> k.usedUnits))
+                .orElseThrow(() -> new QuotaExceededException("All YouTube API keys are exhausted"));
+
+        key.usedUnits += endpoint.getCost();
+        key.unflushedUnits += endpoint.getCost();
+        return key;
+    }
+
+    // 구글이 이 키로 quotaExceeded 를 돌려준 경우, 오늘은 더 이상 고르지 않음
+    public synchronized void markExhausted(ApiKey key) {
+        rollOverIfNewDay();
+        if (!key.exhausted) {
+            key.exhausted = true;
+            key.unflushedExhausted = true;
+            log.warn("API 키 쿼터 소진 key={}, 남은 키 {}개", key, availableCount());
+        }
+    }
+
+    public synchronized boolean hasAvailable() {
+        rollOverIfNewDay();
+        return availableCount() > 0;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${youtube.quota.flush-interval-ms:30000}")
+    public void flush() {
+        LocalDate flushDay;
+        List<Delta> deltas;
+        synchronized (this) {
+            rollOverIfNewDay();
+            flushDay = day;
+            deltas = keys.stream()
+                    .filter(k -> k.unflushedUnits > 0 || k.unflushedExhausted)
+                    .map(k -> new Delta(k.id, k.unflushedUnits, k.unflushedExhausted))
+                    .toList();
+            keys.forEach(k -> {
+                k.unflushedUnits = 0;
+                k.unflushedExhausted = false;
+            });
+        }
+
+        try {
+            if (!deltas.isEmpty()) {
+                apiKeyUsageRepository.addUsedUnits(flushDay, deltas);
+            }
+            // 다른 인스턴스가 쓴 양까지 포함된 누적값으로 맞춤
+            List<ApiKeyUsage> usages = apiKeyUsageRepository.findAllByUsageDate(flushDay);
+            synchronized (this) {
+                if (day.equals(flushDay)) {
+                    merge(usages);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("API 키 사용량 저장 실패, 다음 주기에 다시 시도", e);
+            synchronized (this) {
+                if (day.equals(flushDay)) {
+                    Map<String, Delta> byId = deltas.stream().collect(Collectors.toMap(Delta::keyId, Function.identity()));
+                    for (ApiKey key : keys) {
+                        Delta delta = byId.get(key.id);
+                        if (delta != null) {
+                            key.unflushedUnits += delta.units();
+                            key.unflushedExhausted |= delta.exhausted();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // DB 누적값 + 아직 반영하지 않은 양, 로컬 값보다 작아지지는 않게
+    private void merge(List<ApiKeyUsage> usages) {
+        Map<String, ApiKeyUsage> byId = usages.stream()
+                .collect(Collectors.toMap(ApiKeyUsage::getKeyId, Function.identity()));
+        for (ApiKey key : keys) {
+            ApiKeyUsage usage = byId.get(key.id);
+            if (usage != null) {
+                key.usedUnits = Math.max(key.usedUnits, usage.getUsedUnits() + key.unflushedUnits);
+                key.exhausted |= usage.isExhausted();
+            }
+        }
+    }
+
+    private long availableCount() {
+        return keys.stream().filter(k -> !k.exhausted).count();
+    }
+
+    private void rollOverIfNewDay() {
+        LocalDate today = QuotaLedger.today();
+        if (!today.equals(day)) {
+            day = today;
+            for (ApiKey key : keys) {
+                key.usedUnits = 0;
+                key.exhausted = false;
+                key.unflushedUnits = 0;
+                key.unflushedExhausted = false;
+            }
+        }
+    }
+
+    public static final class ApiKey {
+
+        private final String value;
+        private final String id;
+        private long usedUnits;
+        private boolean exhausted;
+        private long unflushedUnits;
+        private boolean unflushedExhausted;
+
+        private ApiKey(String value) {
+            this.value = value;
+            // DB 에는 키 원문 대신 해시만
+            this.id = DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        }
+
+        public String value() {
+            return value;
+        }
+
+        // 로그에 키 전체가 남지 않도록 끝 4자리만
+        @Override
+        public String toString() {
+            return "***" + value.substring(Math.max(0, value.length() - 4));
+        }
+    }
+}
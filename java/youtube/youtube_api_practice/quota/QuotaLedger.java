@@ -0,0 +1,162 @@
+package youtube.youtube_api_practice.quota;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.domain.QuotaUsage;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.repository.quota.QuotaUsageRepository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * YouTube API 일일 쿼터 장부
+ * - 호출 전에 엔드포인트 비용(search 100, list 1)을 차감
+ * - 우선순위별로 쓸 수 있는 몫을 나눠서 BULK > BACKGROUND > INTERACTIVE 순으로 먼저 막힘
+ * - 주기 갱신 스케줄러는 하루 사용량이 refreshShare 아래일 때만 작업을 등록 (인스턴스마다 따로 세지 않고 이 장부 기준)
+ * - 사용량은 주기적으로 DB에 더해서 재시작/여러 인스턴스 사이에서도 유지
+ * - 일일 한도는 키당 한도 x 등록된 API 키 수
+ */
+@Slf4j
+@Component
+public class QuotaLedger {
+
+    // 유튜브 쿼터는 태평양 시간 자정에 초기화됨
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final QuotaUsageRepository quotaUsageRepository;
+    private final long dailyLimit;
+    private final double backgroundShare;
+    private final double bulkShare;
+    private final double refreshShare;
+
+    private LocalDate day;
+    private long usedUnits;
+    private long unflushedUnits;
+
+    public QuotaLedger(QuotaUsageRepository quotaUsageRepository,
+                       ApiKeyPool apiKeyPool,
+                       @Value("${youtube.quota.daily-limit:10000}") long dailyLimit,
+                       @Value("${youtube.quota.background-share:0.9}") double backgroundShare,
+                       @Value("${youtube.quota.bulk-share:0.6}") double bulkShare,
+                       @Value("${youtube.quota.refresh-share:0.5}") double refreshShare) {
+        this.quotaUsageRepository = quotaUsageRepository;
+        this.dailyLimit = dailyLimit * apiKeyPool.size();
+        this.backgroundShare = backgroundShare;
+        this.bulkShare = bulkShare;
+        this.refreshShare = refreshShare;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        day = today();
+        usedUnits = quotaUsageRepository.findById(day).map(QuotaUsage::getUsedUnits).orElse(0L);
+        log.info("쿼터 사용량 불러옴 day={}, used={}/{}", day, usedUnits, dailyLimit);
+    }
+
+    // 호출 전에 비용 차감, 우선순위 몫을 넘으면 QuotaExceededException
+    public synchronized void charge(YoutubeEndpoint endpoint, QuotaPriority priority) {
+        rollOverIfNewDay();
+
+        if (usedUnits + endpoint.getCost() > budgetOf(priority)) {
+            log.warn("쿼터 예산 초과로 호출 거절 endpoint={}, priority={}, used={}/{}", endpoint, priority, usedUnits, dailyLimit);
+            throw new QuotaExceededException("YouTube API quota budget exhausted for " + priority + " requests");
+        }
+
+        usedUnits += endpoint.getCost();
+        unflushedUnits += endpoint.getCost();
+    }
+
+    public synchronized boolean canAfford(QuotaPriority priority, long units) {
+        rollOverIfNewDay();
+        return usedUnits + units <= budgetOf(priority);
+    }
+
+    // 주기 갱신 작업을 units 만큼 더 등록해도 하루 사용량이 갱신 몫 안에 있는지
+    public synchronized boolean canAffordRefresh(long units) {
+        rollOverIfNewDay();
+        return usedUnits + units <= (long) (dailyLimit * refreshShare);
+    }
+
+    public synchronized long remaining(QuotaPriority priority) {
+        rollOverIfNewDay();
+        return Math.max(0, budgetOf(priority) - usedUnits);
+    }
+
+    public synchronized long getUsedUnits() {
+        rollOverIfNewDay();
+        return usedUnits;
+    }
+
+    public long getDailyLimit() {
+        return dailyLimit;
+    }
+
+    // 구글이 quotaExceeded 를 돌려준 경우, 남은 쿼터가 없는 것으로 기록해서 이후 호출은 바로 거절
+    public synchronized void markExhausted() {
+        rollOverIfNewDay();
+        long delta = dailyLimit - usedUnits;
+        if (delta > 0) {
+            usedUnits = dailyLimit;
+            unflushedUnits += delta;
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${youtube.quota.flush-interval-ms:30000}")
+    public void flush() {
+        LocalDate flushDay;
+        long delta;
+        synchronized (this) {
+            rollOverIfNewDay();
+            flushDay = day;
+            delta = unflushedUnits;
+            unflushedUnits = 0;
+        }
+
+        try {
+            // 다른 인스턴스가 쓴 양까지 포함된 누적값으로 맞춤
+            long total = quotaUsageRepository.addUsedUnits(flushDay, delta);
+            synchronized (this) {
+                if (day.equals(flushDay)) {
+                    usedUnits = Math.max(usedUnits, total + unflushedUnits);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("쿼터 사용량 저장 실패, 다음 주기에 다시 시도 delta={}", delta, e);
+            synchronized (this) {
+                if (day.equals(flushDay)) {
+                    unflushedUnits += delta;
+                }
+            }
+        }
+    }
+
+    private long budgetOf(QuotaPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> dailyLimit;
+            case BACKGROUND -> (long) (dailyLimit * backgroundShare);
+            case BULK -> (long) (dailyLimit * bulkShare);
+        };
+    }
+
+    // 날짜가 바뀌면 새 쿼터로 시작 (전날 미반영분은 더 이상 호출 허용에 영향이 없으므로 버림)
+    private void rollOverIfNewDay() {
+        LocalDate today = today();
+        if (!today.equals(day)) {
+            log.info("쿼터 날짜 변경 {} -> {}, 전날 사용량 {}", day, today, usedUnits);
+            day = today;
+            usedUnits = 0;
+            unflushedUnits = 0;
+        }
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(QUOTA_ZONE);
+    }
+}
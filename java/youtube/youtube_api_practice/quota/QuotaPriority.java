@@ -0,0 +1,11 @@
+package youtube.youtube_api_practice.quota;
+
+/**
+ * YouTube API 호출 우선순위
+ * 낮은 우선순위일수록 하루 쿼터 중 사용할 수 있는 비율이 작아서, 관리자 일괄 작업이 사용자 요청 몫을 쓰지 못한다.
+ */
+public enum QuotaPriority {
+    INTERACTIVE, // 사용자 검색, 최초 동기화
+    BACKGROUND,  // 추가 댓글 동기화
+    BULK         // 관리자 일괄 크롤링
+}
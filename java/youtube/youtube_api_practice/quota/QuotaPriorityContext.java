@@ -0,0 +1,47 @@
+package youtube.youtube_api_practice.quota;
+
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * 현재 스레드의 YouTube API 호출 우선순위
+ * 블로킹 호출은 ThreadLocal 로, 리액티브 파이프라인은 Reactor Context 로 전달한다.
+ *
+ * try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(QuotaPriority.BULK)) { ... }
+ */
+public final class QuotaPriorityContext {
+
+    private static final ThreadLocal<QuotaPriority> CURRENT = new ThreadLocal<>();
+
+    private QuotaPriorityContext() {
+    }
+
+    public static QuotaPriority current() {
+        QuotaPriority priority = CURRENT.get();
+        return priority == null ? QuotaPriority.INTERACTIVE : priority;
+    }
+
+    public static Scope enter(QuotaPriority priority) {
+        QuotaPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // 조립 시점의 우선순위를 Reactor Context 에 담음 (이미 지정돼 있으면 유지)
+    public static Function<Context, Context> capture() {
+        QuotaPriority priority = current();
+        return context -> context.hasKey(QuotaPriority.class) ? context : context.put(QuotaPriority.class, priority);
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
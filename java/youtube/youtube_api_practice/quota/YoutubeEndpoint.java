@@ -0,0 +1,39 @@
+package youtube.youtube_api_practice.quota;
+
+/**
+ * YouTube Data API 엔드포인트별 쿼터 비용 (units)
+ */
+public enum YoutubeEndpoint {
+    SEARCH("/search", 100),
+    CHANNELS("/channels", 1),
+    PLAYLIST_ITEMS("/playlistItems", 1),
+    VIDEOS("/videos", 1),
+    COMMENT_THREADS("/commentThreads", 1),
+    COMMENTS("/comments", 1);
+
+    private final String path;
+    private final int cost;
+
+    YoutubeEndpoint(String path, int cost) {
+        this.path = path;
+        this.cost = cost;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    // 요청 URI path (ex. /youtube/v3/commentThreads) 로 엔드포인트 찾기
+    public static YoutubeEndpoint fromPath(String requestPath) {
+        for (YoutubeEndpoint endpoint : values()) {
+            if (requestPath.endsWith(endpoint.path)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown Youtube API path: " + requestPath);
+    }
+}
@@ -3,7 +3,18 @@ package youtube.youtube_api_practice.repository.Video;
 import youtube.youtube_api_practice.domain.Video;
 
 import java.util.List;
+import java.util.Map;
 
 public interface VideoJdbcRepository {
     void upsertVideos(List<Video> videos);
+
+    void updateThumbnails(Map<String, String> thumbnailUrlByVideoId);
+
+    // 채널 비디오들의 저장된 댓글 etag (videoId -> etag)
+    Map<String, String> findCommentsEtags(String channelId);
+
+    void updateCommentsEtags(Map<String, String> commentsEtagByVideoId);
+
+    // etag 없이 댓글을 다시 쓰는 경로용, 다음 조건부 요청이 304 로 건너뛰지 않도록 지움
+    void clearCommentsEtags(List<String> videoIds);
 }
@@ -1,9 +1,20 @@
 package youtube.youtube_api_practice.repository.Video;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import youtube.youtube_api_practice.domain.Video;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface VideoRepository extends JpaRepository<Video, String>, VideoJdbcRepository {
+
+    // 채널에 이미 저장된 가장 최근 비디오 (증분 동기화가 멈출 지점)
+    Optional<Video> findFirstByChannelIdOrderByPublishedAtDesc(String channelId);
+
+    // 채널에 저장된 최근 비디오들 (기존 비디오 댓글 갱신용)
+    @Query("select v from Video v where v.channel.id = :channelId order by v.publishedAt desc")
+    List<Video> findRecentByChannel(@Param("channelId") String channelId, Pageable pageable);
 }
@@ -4,7 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import youtube.youtube_api_practice.domain.Video;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 public class VideoRepositoryImpl implements VideoJdbcRepository {
@@ -34,6 +37,50 @@ public class VideoRepositoryImpl implements VideoJdbcRepository {
         );
     }
 
-}
+    @Override
+    public void updateThumbnails(Map<String, String> thumbnailUrlByVideoId) {
+        String sql = "UPDATE video SET thumbnail_url = ? WHERE video_id = ?";
+
+        List<Map.Entry<String, String>> entries = new ArrayList<>(thumbnailUrlByVideoId.entrySet());
+        jdbcTemplate.batchUpdate(sql, entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setString(1, entry.getValue());
+                    ps.setString(2, entry.getKey());
+                }
+        );
+    }
 
+    @Override
+    public Map<String, String> findCommentsEtags(String channelId) {
+        String sql = "SELECT video_id, comments_etag FROM video WHERE channel_id = ? AND comments_etag IS NOT NULL";
+
+        Map<String, String> etags = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            etags.put(rs.getString("video_id"), rs.getString("comments_etag"));
+        }, channelId);
+        return etags;
+    }
+
+    @Override
+    public void updateCommentsEtags(Map<String, String> commentsEtagByVideoId) {
+        String sql = "UPDATE video SET comments_etag = ? WHERE video_id = ?";
 
+        List<Map.Entry<String, String>> entries = new ArrayList<>(commentsEtagByVideoId.entrySet());
+        jdbcTemplate.batchUpdate(sql, entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setString(1, entry.getValue());
+                    ps.setString(2, entry.getKey());
+                }
+        );
+    }
+
+    @Override
+    public void clearCommentsEtags(List<String> videoIds) {
+        String sql = "UPDATE video SET comments_etag = NULL WHERE video_id = ?";
+
+        jdbcTemplate.batchUpdate(sql, videoIds, videoIds.size(),
+                (ps, videoId) -> ps.setString(1, videoId)
+        );
+    }
+
+}
@@ -7,5 +7,10 @@ import java.util.List;
 public interface ChannelJdbcRepository {
     void upsertChannel(Channel channel);
 
+    void upsertChannels(List<Channel> channels);
+
     List<Channel> findRandomTopChannels();
+
+    // 이번 동기화에서 관측한 댓글 변경 비율을 기존 값과 반씩 섞어서 저장
+    void updateCommentChurn(String channelId, double observedChurn);
 }
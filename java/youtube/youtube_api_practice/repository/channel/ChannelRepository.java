@@ -22,4 +22,8 @@ public interface ChannelRepository extends JpaRepository<Channel, String>, Chann
     @Query("select c from Channel c where c.subscriberCount > :subscriberCount and c.lastSelectedAt is null order by c.subscriberCount desc")
     List<Channel> findTopChannels(@Param("subscriberCount") Long subscriberCount, Pageable pageable);
 
+    // 한 번 이상 동기화된 채널 중 조회수가 높은 순 (주기 갱신 후보)
+    @Query("select c from Channel c where c.lastSelectedAt is not null and c.commentStatus <> youtube.youtube_api_practice.domain.CommentStatus.COMMENT_NONE order by c.searchCount desc")
+    List<Channel> findRefreshCandidates(Pageable pageable);
+
 }
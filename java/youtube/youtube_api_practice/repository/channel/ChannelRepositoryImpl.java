@@ -14,8 +14,7 @@ public class ChannelRepositoryImpl implements ChannelJdbcRepository {
 
     private final JdbcTemplate jdbcTemplate;
 
-    public void upsertChannel(Channel channel) {
-        String sql = """
+    private static final String UPSERT_SQL = """
         INSERT INTO channel 
         (channel_id, channel_name, thumbnail_url, subscriber_count, description, uploads_playlist_id, last_selected_at, search_count, comment_status)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
@@ -30,7 +29,8 @@ public class ChannelRepositoryImpl implements ChannelJdbcRepository {
             comment_status = VALUES(comment_status)
     """;
 
-        jdbcTemplate.update(sql,
+    public void upsertChannel(Channel channel) {
+        jdbcTemplate.update(UPSERT_SQL,
                 channel.getId(),
                 channel.getName(),
                 channel.getThumbnailUrl(),
@@ -43,6 +43,22 @@ public class ChannelRepositoryImpl implements ChannelJdbcRepository {
         );
     }
 
+    public void upsertChannels(List<Channel> channels) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, channels, channels.size(),
+                (ps, channel) -> {
+                    ps.setString(1, channel.getId());
+                    ps.setString(2, channel.getName());
+                    ps.setString(3, channel.getThumbnailUrl());
+                    ps.setObject(4, channel.getSubscriberCount());
+                    ps.setString(5, channel.getDescription());
+                    ps.setString(6, channel.getUploadsPlaylistId());
+                    ps.setObject(7, channel.getLastSelectedAt()); // LocalDateTime → DATETIME 변환
+                    ps.setInt(8, channel.getSearchCount());
+                    ps.setString(9, channel.getCommentStatus().name()); // Enum → String
+                }
+        );
+    }
+
 
     private final RowMapper<Channel> channelRowMapper = new RowMapper<>() {
         @Override
@@ -73,4 +89,14 @@ public class ChannelRepositoryImpl implements ChannelJdbcRepository {
 
         return jdbcTemplate.query(sql, channelRowMapper);
     }
+
+    public void updateCommentChurn(String channelId, double observedChurn) {
+        String sql = """
+                UPDATE channel
+                SET comment_churn = IF(comment_churn IS NULL, ?, comment_churn * 0.5 + ? * 0.5)
+                WHERE channel_id = ?
+                """;
+
+        jdbcTemplate.update(sql, observedChurn, observedChurn, channelId);
+    }
 }
@@ -0,0 +1,13 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ApiKeyUsageJdbcRepository {
+
+    // 키별 사용량을 더하고 소진 여부는 한 번 true 가 되면 그날은 유지
+    void addUsedUnits(LocalDate usageDate, List<Delta> deltas);
+
+    record Delta(String keyId, long units, boolean exhausted) {
+    }
+}
@@ -0,0 +1,12 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import youtube.youtube_api_practice.domain.ApiKeyUsage;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ApiKeyUsageRepository extends JpaRepository<ApiKeyUsage, ApiKeyUsage.Key>, ApiKeyUsageJdbcRepository {
+
+    List<ApiKeyUsage> findAllByUsageDate(LocalDate usageDate);
+}
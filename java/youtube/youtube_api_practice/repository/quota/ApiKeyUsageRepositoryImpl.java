@@ -0,0 +1,32 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ApiKeyUsageRepositoryImpl implements ApiKeyUsageJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addUsedUnits(LocalDate usageDate, List<Delta> deltas) {
+        String sql = """
+        INSERT INTO api_key_usage (usage_date, key_id, used_units, exhausted)
+        VALUES (?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            used_units = used_units + VALUES(used_units),
+            exhausted = exhausted OR VALUES(exhausted)
+    """;
+
+        jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+            ps.setDate(1, Date.valueOf(usageDate));
+            ps.setString(2, delta.keyId());
+            ps.setLong(3, delta.units());
+            ps.setBoolean(4, delta.exhausted());
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import java.time.LocalDate;
+
+public interface QuotaUsageJdbcRepository {
+    // delta 만큼 사용량을 더하고 그 날짜의 누적 사용량을 반환
+    long addUsedUnits(LocalDate usageDate, long delta);
+}
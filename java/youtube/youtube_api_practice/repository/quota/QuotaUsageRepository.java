@@ -0,0 +1,9 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import youtube.youtube_api_practice.domain.QuotaUsage;
+
+import java.time.LocalDate;
+
+public interface QuotaUsageRepository extends JpaRepository<QuotaUsage, LocalDate>, QuotaUsageJdbcRepository {
+}
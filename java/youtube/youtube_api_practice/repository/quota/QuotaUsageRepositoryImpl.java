@@ -0,0 +1,28 @@
+package youtube.youtube_api_practice.repository.quota;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+public class QuotaUsageRepositoryImpl implements QuotaUsageJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long addUsedUnits(LocalDate usageDate, long delta) {
+        String sql = """
+        INSERT INTO quota_usage (usage_date, used_units)
+        VALUES (?, ?)
+        ON DUPLICATE KEY UPDATE
+            used_units = used_units + VALUES(used_units)
+    """;
+
+        jdbcTemplate.update(sql, usageDate, delta);
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT used_units FROM quota_usage WHERE usage_date = ?", Long.class, usageDate);
+        return total == null ? 0L : total;
+    }
+}
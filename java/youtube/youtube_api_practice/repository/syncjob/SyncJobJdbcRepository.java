@@ -0,0 +1,32 @@
+package youtube.youtube_api_practice.repository.syncjob;
+
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+
+import java.util.List;
+import java.util.Map;
+
+public interface SyncJobJdbcRepository {
+
+    // 작업을 넣고 job_id 반환, 같은 채널/단계 작업이 대기/실행 중이면 그 작업의 job_id (우선순위는 더 높은 쪽으로)
+    long enqueue(String channelId, SyncLevel syncLevel, QuotaPriority priority);
+
+    // 대기/실행 중인 작업 수 (주기 갱신 예산 계산용)
+    Map<SyncLevel, Integer> countActiveByLevel(QuotaPriority priority);
+
+    // syncLevels 중 대기 중이거나 lease 가 끝난 작업을 우선순위 순으로 limit 개까지 점유 (트랜잭션 안에서 호출해야 SKIP LOCKED 가 유지됨)
+    List<Long> claim(String workerId, List<SyncLevel> syncLevels, int limit, int leaseSeconds, int maxAttempts);
+
+    void extendLease(List<Long> jobIds, String workerId, int leaseSeconds);
+
+    void complete(long jobId, String workerId);
+
+    // retry 면 다시 대기열로, 아니면 FAILED
+    void fail(long jobId, String workerId, String errorCode, String errorMessage, boolean retry);
+
+    // 실행하지 못한 작업을 대기열로 돌려놓음 (claim 에서 올린 attempts 도 되돌림)
+    void release(long jobId, String workerId);
+
+    // 재시도 횟수를 다 쓴 채로 lease 가 끝난 작업은 FAILED 처리
+    int failExpired(int maxAttempts);
+}
@@ -0,0 +1,7 @@
+package youtube.youtube_api_practice.repository.syncjob;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import youtube.youtube_api_practice.domain.SyncJob;
+
+public interface SyncJobRepository extends JpaRepository<SyncJob, Long>, SyncJobJdbcRepository {
+}
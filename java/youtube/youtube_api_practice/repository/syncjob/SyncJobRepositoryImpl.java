@@ -0,0 +1,169 @@
+package youtube.youtube_api_practice.repository.syncjob;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import youtube.youtube_api_practice.domain.SyncJob;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class SyncJobRepositoryImpl implements SyncJobJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long enqueue(String channelId, SyncLevel syncLevel, QuotaPriority priority) {
+        // 중복이면 LAST_INSERT_ID(job_id) 로 기존 작업 id 를 돌려받고, 우선순위는 높은 쪽(작은 값)으로
+        String sql = """
+        INSERT INTO sync_job (channel_id, sync_level, status, dedupe_key, priority, attempts, created_at, updated_at)
+        VALUES (?, ?, 'QUEUED', ?, ?, 0, NOW(), NOW())
+        ON DUPLICATE KEY UPDATE
+            job_id = LAST_INSERT_ID(job_id),
+            priority = LEAST(priority, VALUES(priority))
+    """;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, channelId);
+            ps.setString(2, syncLevel.name());
+            ps.setString(3, SyncJob.dedupeKeyOf(channelId, syncLevel));
+            ps.setInt(4, priority.ordinal());
+            return ps;
+        }, keyHolder);
+
+        return keyHolder.getKey().longValue();
+    }
+
+    @Override
+    public Map<SyncLevel, Integer> countActiveByLevel(QuotaPriority priority) {
+        String sql = """
+        SELECT sync_level, COUNT(*) AS cnt
+        FROM sync_job
+        WHERE status IN ('QUEUED', 'RUNNING') AND priority = ?
+        GROUP BY sync_level
+    """;
+
+        Map<SyncLevel, Integer> counts = new EnumMap<>(SyncLevel.class);
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(SyncLevel.valueOf(rs.getString("sync_level")), rs.getInt("cnt"));
+        }, priority.ordinal());
+        return counts;
+    }
+
+    @Override
+    public List<Long> claim(String workerId, List<SyncLevel> syncLevels, int limit, int leaseSeconds, int maxAttempts) {
+        String placeholders = String.join(", ", Collections.nCopies(syncLevels.size(), "?"));
+        String selectSql = """
+        SELECT job_id
+        FROM sync_job
+        WHERE sync_level IN (%s)
+          AND (status = 'QUEUED'
+               OR (status = 'RUNNING' AND lease_until < NOW() AND attempts < ?))
+        ORDER BY priority, job_id
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+    """.formatted(placeholders);
+
+        List<Object> args = new ArrayList<>();
+        syncLevels.forEach(syncLevel -> args.add(syncLevel.name()));
+        args.add(maxAttempts);
+        args.add(limit);
+        List<Long> jobIds = jdbcTemplate.queryForList(selectSql, Long.class, args.toArray());
+        if (jobIds.isEmpty()) {
+            return jobIds;
+        }
+
+        String updateSql = """
+        UPDATE sync_job
+        SET status = 'RUNNING',
+            locked_by = ?,
+            lease_until = NOW() + INTERVAL ? SECOND,
+            attempts = attempts + 1,
+            updated_at = NOW()
+        WHERE job_id = ?
+    """;
+
+        jdbcTemplate.batchUpdate(updateSql, jobIds, jobIds.size(), (ps, jobId) -> {
+            ps.setString(1, workerId);
+            ps.setInt(2, leaseSeconds);
+            ps.setLong(3, jobId);
+        });
+        return jobIds;
+    }
+
+    @Override
+    public void extendLease(List<Long> jobIds, String workerId, int leaseSeconds) {
+        String sql = """
+        UPDATE sync_job
+        SET lease_until = NOW() + INTERVAL ? SECOND, updated_at = NOW()
+        WHERE job_id = ? AND locked_by = ? AND status = 'RUNNING'
+    """;
+
+        jdbcTemplate.batchUpdate(sql, jobIds, jobIds.size(), (ps, jobId) -> {
+            ps.setInt(1, leaseSeconds);
+            ps.setLong(2, jobId);
+            ps.setString(3, workerId);
+        });
+    }
+
+    @Override
+    public void complete(long jobId, String workerId) {
+        String sql = """
+        UPDATE sync_job
+        SET status = 'DONE', dedupe_key = NULL, lease_until = NULL, error_code = NULL, error_message = NULL, updated_at = NOW()
+        WHERE job_id = ? AND locked_by = ?
+    """;
+
+        jdbcTemplate.update(sql, jobId, workerId);
+    }
+
+    @Override
+    public void fail(long jobId, String workerId, String errorCode, String errorMessage, boolean retry) {
+        String sql = retry
+                ? """
+        UPDATE sync_job
+        SET status = 'QUEUED', locked_by = NULL, lease_until = NULL, error_code = ?, error_message = ?, updated_at = NOW()
+        WHERE job_id = ? AND locked_by = ?
+    """
+                : """
+        UPDATE sync_job
+        SET status = 'FAILED', dedupe_key = NULL, lease_until = NULL, error_code = ?, error_message = ?, updated_at = NOW()
+        WHERE job_id = ? AND locked_by = ?
+    """;
+
+        jdbcTemplate.update(sql, errorCode, errorMessage, jobId, workerId);
+    }
+
+    @Override
+    public void release(long jobId, String workerId) {
+        String sql = """
+        UPDATE sync_job
+        SET status = 'QUEUED', locked_by = NULL, lease_until = NULL, attempts = GREATEST(attempts - 1, 0), updated_at = NOW()
+        WHERE job_id = ? AND locked_by = ? AND status = 'RUNNING'
+    """;
+
+        jdbcTemplate.update(sql, jobId, workerId);
+    }
+
+    @Override
+    public int failExpired(int maxAttempts) {
+        String sql = """
+        UPDATE sync_job
+        SET status = 'FAILED', dedupe_key = NULL, lease_until = NULL, error_code = 'LEASE_EXPIRED', updated_at = NOW()
+        WHERE status = 'RUNNING' AND lease_until < NOW() AND attempts >= ?
+    """;
+
+        return jdbcTemplate.update(sql, maxAttempts);
+    }
+}
@@ -0,0 +1,14 @@
+package youtube.youtube_api_practice.repository.synclock;
+
+import java.util.Map;
+
+public interface SyncLockJdbcRepository {
+
+    // 락이 없거나 lease 가 끝났으면 owner 로 잡고 true
+    boolean tryAcquire(String lockName, String owner, int leaseSeconds);
+
+    // lockName -> owner, 아직 가지고 있는 락만 연장하고 연장한 개수 반환
+    int extendLeases(Map<String, String> owners, int leaseSeconds);
+
+    void release(String lockName, String owner);
+}
@@ -0,0 +1,7 @@
+package youtube.youtube_api_practice.repository.synclock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import youtube.youtube_api_practice.domain.SyncLock;
+
+public interface SyncLockRepository extends JpaRepository<SyncLock, String>, SyncLockJdbcRepository {
+}
@@ -0,0 +1,62 @@
+package youtube.youtube_api_practice.repository.synclock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class SyncLockRepositoryImpl implements SyncLockJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryAcquire(String lockName, String owner, int leaseSeconds) {
+        // lease 가 끝난 락은 넘겨받고, 행이 없으면 새로 만듦
+        // 두 문장 모두 행 단위로 원자적이라 (UPDATE 는 조건을 다시 확인, INSERT IGNORE 는 PK 충돌) 동시에 두 쪽이 잡을 수 없음
+        String takeOverSql = """
+        UPDATE sync_lock
+        SET owner = ?, lease_until = NOW() + INTERVAL ? SECOND, updated_at = NOW()
+        WHERE lock_name = ? AND lease_until < NOW()
+    """;
+        if (jdbcTemplate.update(takeOverSql, owner, leaseSeconds, lockName) > 0) {
+            return true;
+        }
+
+        String insertSql = """
+        INSERT IGNORE INTO sync_lock (lock_name, owner, lease_until, updated_at)
+        VALUES (?, ?, NOW() + INTERVAL ? SECOND, NOW())
+    """;
+        return jdbcTemplate.update(insertSql, lockName, owner, leaseSeconds) > 0;
+    }
+
+    @Override
+    public int extendLeases(Map<String, String> owners, int leaseSeconds) {
+        String sql = """
+        UPDATE sync_lock
+        SET lease_until = NOW() + INTERVAL ? SECOND, updated_at = NOW()
+        WHERE lock_name = ? AND owner = ?
+    """;
+
+        List<Map.Entry<String, String>> entries = List.copyOf(owners.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(sql, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, leaseSeconds);
+            ps.setString(2, entry.getKey());
+            ps.setString(3, entry.getValue());
+        });
+
+        int extended = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                extended += Math.max(count, 0);
+            }
+        }
+        return extended;
+    }
+
+    @Override
+    public void release(String lockName, String owner) {
+        jdbcTemplate.update("DELETE FROM sync_lock WHERE lock_name = ? AND owner = ?", lockName, owner);
+    }
+}
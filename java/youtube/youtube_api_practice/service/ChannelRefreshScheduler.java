@@ -0,0 +1,115 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.domain.Channel;
+import youtube.youtube_api_practice.domain.CommentStatus;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.quota.QuotaLedger;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.repository.channel.ChannelRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 인기 채널을 사용자 요청 없이 미리 갱신하는 스케줄러
+ * 채널별 우선순위 = 인기(searchCount) x 오래된 정도(마지막 동기화 이후 시간) x 댓글 변경 비율 x 동기화 단계
+ * 점수가 높은 채널부터 동기화 작업 대기열에 BACKGROUND 우선순위로 등록하고, 실행은 워커가 다른 작업과 같은 풀/락/재시도로 처리
+ * (워커는 사용자가 기다리는 작업을 먼저 가져가고, 갱신 작업은 BACKGROUND 쿼터 몫으로 실행)
+ * 하루 사용량이 쿼터 장부의 갱신 몫(youtube.quota.refresh-share)을 넘기 전까지만 등록 (여러 인스턴스가 같은 장부 기준)
+ */
+@Slf4j
+@Component
+public class ChannelRefreshScheduler {
+
+    // 변경 비율을 아직 모르는 채널의 기본값
+    private static final double DEFAULT_CHURN = 0.5;
+
+    private final ChannelRepository channelRepository;
+    private final SyncJobService syncJobService;
+    private final QuotaLedger quotaLedger;
+    private final boolean enabled;
+    private final int candidateLimit;
+    private final Duration minAge;
+
+    public ChannelRefreshScheduler(ChannelRepository channelRepository,
+                                   SyncJobService syncJobService,
+                                   QuotaLedger quotaLedger,
+                                   @Value("${refresh.enabled:true}") boolean enabled,
+                                   @Value("${refresh.candidate-limit:200}") int candidateLimit,
+                                   @Value("${refresh.min-age-hours:6}") long minAgeHours) {
+        this.channelRepository = channelRepository;
+        this.syncJobService = syncJobService;
+        this.quotaLedger = quotaLedger;
+        this.enabled = enabled;
+        this.candidateLimit = candidateLimit;
+        this.minAge = Duration.ofHours(minAgeHours);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh.interval-ms:600000}", initialDelayString = "${refresh.initial-delay-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Channel> ranked = channelRepository.findRefreshCandidates(PageRequest.of(0, candidateLimit)).stream()
+                .filter(channel -> Duration.between(channel.getLastSelectedAt(), now).compareTo(minAge) >= 0)
+                .sorted(Comparator.comparingDouble((Channel channel) -> score(channel, now)).reversed())
+                .toList();
+
+        // 아직 끝나지 않은 갱신 작업(이전 주기 포함)과 이번 주기에 등록한 작업은 장부에 다 반영되지 않았으므로 예상치를 더해서 확인
+        long reserved = syncJobService.countActive(QuotaPriority.BACKGROUND).entrySet().stream()
+                .mapToLong(entry -> estimateUnits(entry.getKey()) * entry.getValue())
+                .sum();
+        int enqueued = 0;
+        for (Channel channel : ranked) {
+            SyncLevel level = isBasic(channel) ? SyncLevel.BASIC : SyncLevel.EXTENDED;
+            long estimated = estimateUnits(level);
+            if (!quotaLedger.canAffordRefresh(reserved + estimated)) {
+                log.info("갱신 쿼터 몫 소진, 이번 주기 종료 used={}, reserved={}", quotaLedger.getUsedUnits(), reserved);
+                break;
+            }
+
+            log.info("채널 주기 갱신 등록 channelId={}, level={}, score={}", channel.getId(), level, score(channel, now));
+            syncJobService.enqueue(channel.getId(), level, QuotaPriority.BACKGROUND);
+            reserved += estimated;
+            enqueued++;
+        }
+        if (enqueued > 0) {
+            log.info("채널 주기 갱신 작업 {}개 등록, 진행 중 포함 예상 쿼터 {}", enqueued, reserved);
+        }
+    }
+
+    private double score(Channel channel, LocalDateTime now) {
+        double popularity = Math.log1p(channel.getSearchCount());
+        // 하루가 지날 때마다 1씩, 최대 7일까지
+        double staleness = Math.min(Duration.between(channel.getLastSelectedAt(), now).toMinutes() / (24.0 * 60), 7.0);
+        double churn = channel.getCommentChurn() == null ? DEFAULT_CHURN : channel.getCommentChurn();
+        double statusWeight = isBasic(channel) ? 0.7 : 1.0;
+
+        return (1 + popularity) * staleness * (0.25 + churn) * statusWeight;
+    }
+
+    // BASIC: 채널 1 + 영상 1페이지 + 영상 33개 댓글, EXTENDED: 채널 1 + 영상 2페이지 + 영상 100개 댓글
+    // 기존 비디오 갱신: 영상 100개 댓글 (BACKGROUND 로 등록하지는 않지만 합계용)
+    private long estimateUnits(SyncLevel level) {
+        return switch (level) {
+            case PARTIAL, BASIC -> 35;
+            case EXTENDED -> 103;
+            case REFRESH_KNOWN -> 100;
+        };
+    }
+
+    // 부분 동기화 채널도 BASIC 동기화로 채움
+    private boolean isBasic(Channel channel) {
+        return channel.getCommentStatus() == CommentStatus.COMMENT_BASIC
+                || channel.getCommentStatus() == CommentStatus.COMMENT_PARTIAL;
+    }
+}
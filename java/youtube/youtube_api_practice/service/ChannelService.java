@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.similarity.LevenshteinDistance;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import youtube.youtube_api_practice.config.AsyncConfig;
 import youtube.youtube_api_practice.domain.Channel;
 import youtube.youtube_api_practice.domain.SearchCache;
 import youtube.youtube_api_practice.dto.ChannelResponseDto;
@@ -32,7 +33,7 @@ public class ChannelService {
 
     private final LevenshteinDistance ld = new LevenshteinDistance();
 
-    @Async
+    @Async(AsyncConfig.SEARCH)
     @Transactional
     public CompletableFuture<List<ChannelResponseDto>> getChannelIds(String search) {
         log.info("getChannelIds {}", search);
@@ -98,10 +99,11 @@ public class ChannelService {
         Map<String, Channel> existingChannelMap = channelRepository.findAllById(channelIds).stream()
                 .collect(Collectors.toMap(Channel::getId, Function.identity()));
 
-        // 2. API 호출 및 upsert 진행
-        for (String channelId : channelIds) {
-            Channel newChannel = youtubeProvider.fetchChannel(channelId);
-            Channel existingChannel = existingChannelMap.get(channelId);
+        // 2. API 호출 (50개씩 묶어서 한 번에 조회)
+        List<Channel> newChannels = youtubeProvider.fetchChannels(channelIds);
+
+        for (Channel newChannel : newChannels) {
+            Channel existingChannel = existingChannelMap.get(newChannel.getId());
 
             // 3. 기존 채널 정보가 있으면 lastSelectAt, searchCount, commentStatus 값을 유지
             if (existingChannel != null) {
@@ -109,9 +111,10 @@ public class ChannelService {
                 newChannel.setSearchCount(existingChannel.getSearchCount());
                 newChannel.setCommentStatus(existingChannel.getCommentStatus());
             }
-
-            channelRepository.upsertChannel(newChannel);
         }
+
+        // 4. 한 번의 배치로 upsert
+        channelRepository.upsertChannels(newChannels);
     }
 
     public boolean isSimilar(String a, String b) {
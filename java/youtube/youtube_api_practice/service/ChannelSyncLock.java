@@ -0,0 +1,104 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.exception.SyncLockTimeoutException;
+import youtube.youtube_api_practice.repository.synclock.SyncLockRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 채널/동기화 단계별 분산 락 (sync_lock 테이블의 lease 행)
+ * - 인스턴스가 여러 개여도 같은 채널의 같은 단계 동기화는 한 번에 하나만 실행
+ * - PARTIAL 과 BASIC 은 같은 최신 영상과 상태를 쓰므로 같은 락 (부분 동기화가 끝난 BASIC 을 덮어쓰지 않도록)
+ * - 잡을 때/연장할 때/놓을 때만 짧게 쿼리하고 커넥션은 바로 돌려줌 (HTTP 호출 동안 커넥션을 들고 있지 않음)
+ * - 잡은 동안 주기적으로 lease 를 연장, 인스턴스가 죽어서 연장이 끊기면 lease 가 끝난 뒤 다른 쪽이 가져감 (sync_job lease 와 같은 방식)
+ * - 기다리는 쪽은 pollInterval 마다 다시 시도, 기다린 쪽은 락을 잡은 뒤 방금 끝난 동기화 결과를 확인해서 건너뛸 수 있음 (CommentSyncService)
+ */
+@Slf4j
+@Component
+public class ChannelSyncLock {
+
+    private final SyncLockRepository syncLockRepository;
+    private final long waitMillis;
+    private final int leaseSeconds;
+    private final long pollIntervalMillis;
+
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    // 이 인스턴스가 가진 락, lockName -> owner
+    private final Map<String, String> held = new ConcurrentHashMap<>();
+
+    public ChannelSyncLock(SyncLockRepository syncLockRepository,
+                           @Value("${sync.lock.wait-seconds:300}") int waitSeconds,
+                           @Value("${sync.lock.lease-seconds:120}") int leaseSeconds,
+                           @Value("${sync.lock.poll-interval-ms:1000}") long pollIntervalMillis) {
+        this.syncLockRepository = syncLockRepository;
+        this.waitMillis = waitSeconds * 1000L;
+        this.leaseSeconds = leaseSeconds;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public <T> T withLock(String channelId, SyncLevel syncLevel, Supplier<T> task) {
+        String lockName = lockName(channelId, syncLevel);
+        // 같은 인스턴스 안에서도 작업마다 다른 owner 라서 서로 기다림
+        String owner = instanceId + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        long start = System.currentTimeMillis();
+        acquire(lockName, owner, start);
+        long waited = System.currentTimeMillis() - start;
+        if (waited > 1000) {
+            log.info("다른 동기화가 끝날 때까지 기다림 lock={}, waited={}ms", lockName, waited);
+        }
+
+        held.put(lockName, owner);
+        try {
+            return task.get();
+        } finally {
+            held.remove(lockName, owner);
+            syncLockRepository.release(lockName, owner);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sync.lock.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (held.isEmpty()) {
+            return;
+        }
+        Map<String, String> snapshot = Map.copyOf(held);
+        int extended = syncLockRepository.extendLeases(snapshot, leaseSeconds);
+        if (extended < snapshot.size()) {
+            // 연장이 늦어서 lease 가 끝났고 다른 쪽이 가져감, 저장은 상태를 낮추지 않으므로 진행 중인 작업은 그대로 끝냄
+            log.warn("동기화 락 일부를 잃음 held={}, extended={}", snapshot.size(), extended);
+        }
+    }
+
+    private void acquire(String lockName, String owner, long start) {
+        while (!syncLockRepository.tryAcquire(lockName, owner, leaseSeconds)) {
+            if (System.currentTimeMillis() - start >= waitMillis) {
+                throw new SyncLockTimeoutException("Timed out waiting for sync lock: " + lockName);
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SyncLockTimeoutException("Interrupted while waiting for sync lock: " + lockName);
+            }
+        }
+    }
+
+    // 채널 ID 는 24자
+    private String lockName(String channelId, SyncLevel syncLevel) {
+        return "yt-sync:" + channelId + ":" + lockScope(syncLevel).name();
+    }
+
+    private SyncLevel lockScope(SyncLevel syncLevel) {
+        return syncLevel == SyncLevel.PARTIAL ? SyncLevel.BASIC : syncLevel;
+    }
+}
@@ -1,32 +1,39 @@
 package youtube.youtube_api_practice.service;
 
-import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import youtube.youtube_api_practice.config.AsyncConfig;
 import youtube.youtube_api_practice.domain.Channel;
 import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.CommentStatus;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.dto.CommentPageResult;
 import youtube.youtube_api_practice.dto.CommentResponseDto;
 import youtube.youtube_api_practice.dto.ReplyResponseDto;
 import youtube.youtube_api_practice.exception.ChannelNotFoundException;
 import youtube.youtube_api_practice.exception.QuotaExceededException;
 import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
 import youtube.youtube_api_practice.client.YoutubeProvider;
+import youtube.youtube_api_practice.quota.QuotaPriority;
 import youtube.youtube_api_practice.repository.Comment.CommentRepository;
 import youtube.youtube_api_practice.repository.channel.ChannelRepository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -34,58 +41,94 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CommentService {
 
     private final ChannelRepository channelRepository;
     private final CommentRepository commentRepository;
-    private final CommentSyncService commentSyncService; // 동기화 작업용 서비스
-
-    // 가벼운 초기 동기화 작업 목록
-    private final Map<String, CompletableFuture<Void>> initialSyncInProgress = new ConcurrentHashMap<>();
-    // 무거운 추가 동기화 작업 목록
-    private final Map<String, CompletableFuture<Void>> moreCommentsInProgress = new ConcurrentHashMap<>();
+    private final SyncJobService syncJobService; // 동기화 작업 큐 (DB 작업 테이블 + 워커)
+    private final YoutubeProvider youtubeProvider;
+    private final Executor responseExecutor; // 동기화가 끝난 뒤의 DB 조회는 작업 완료를 알린 스레드(워커/타이머)가 아닌 여기서
+    private final Duration staleAfter;
 
     // 조회수 중복 방지용 캐시
     private final Map<String, Long> viewCooldownCache = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private final YoutubeProvider youtubeProvider;
-
-    @PostConstruct
-    public void init() {
-        scheduler.scheduleAtFixedRate(this::cleanupViewCooldownCache, 5, 5, TimeUnit.MINUTES);
+    // 채널별 마지막 백그라운드 갱신 요청 시각, 같은 채널 요청마다 작업 테이블을 두드리지 않도록
+    private final Map<String, Long> refreshRequestedAt = new ConcurrentHashMap<>();
+
+    public CommentService(ChannelRepository channelRepository,
+                          CommentRepository commentRepository,
+                          SyncJobService syncJobService,
+                          YoutubeProvider youtubeProvider,
+                          @Qualifier(AsyncConfig.RESPONSE) Executor responseExecutor,
+                          @Value("${comments.stale-after-minutes:360}") long staleAfterMinutes) {
+        this.channelRepository = channelRepository;
+        this.commentRepository = commentRepository;
+        this.syncJobService = syncJobService;
+        this.youtubeProvider = youtubeProvider;
+        this.responseExecutor = responseExecutor;
+        this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
     }
 
-    private void cleanupViewCooldownCache() {
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void cleanupViewCooldownCache() {
         long fiveMinutesAgo = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
         viewCooldownCache.entrySet().removeIf(entry -> entry.getValue() < fiveMinutesAgo);
+        refreshRequestedAt.entrySet().removeIf(entry -> entry.getValue() < fiveMinutesAgo);
         log.debug("조회수 쿨다운 캐시 정리 완료. 현재 크기: {}", viewCooldownCache.size());
     }
 
-    @Transactional // 동기화가 필요 없는 경우의 조회수 변경 감지를 위해 트랜잭션 유지
-    public CompletableFuture<Page<CommentResponseDto>> getComments(String channelId, int page, int size, HttpServletRequest request) {
+    /**
+     * stale-while-revalidate
+     * - 한 번이라도 동기화된 채널은 DB 데이터를 바로 반환하고, 오래됐으면 백그라운드 갱신만 등록 (응답은 기다리지 않음)
+     * - 동기화된 적 없는 채널만 초기 동기화가 끝날 때까지 기다림
+     * - budgetMillis 가 있으면 최신 영상 몇 개만 동기화(PARTIAL)하고 그 시간까지만 기다림, 나머지는 백그라운드로 이어감
+     * - 부분 동기화된 채널은 이어서 할 BASIC 작업이 등록돼 있는지 매번 확인
+     */
+    @Transactional // 조회수 변경 감지를 위해 트랜잭션 유지
+    public CompletableFuture<CommentPageResult> getComments(String channelId, int page, int size, Long budgetMillis,
+                                                            HttpServletRequest request) {
         log.info("getComments 요청 받음: {}, 페이지: {}, 크기: {}", channelId, page, size);
 
         incrementSearchCountWithCooldown(channelId, request.getRemoteAddr());
 
         Optional<Channel> channelOpt = channelRepository.findById(channelId);
 
-        CompletableFuture<Void> syncFuture = CompletableFuture.completedFuture(null);
-
-        if (channelOpt.isEmpty() || channelOpt.get().getLastSelectedAt() == null) {
-            // 초기 동기화가 필요한 경우, 동시성 제어 로직 수행
-            syncFuture = initialSyncInProgress.computeIfAbsent(channelId, id -> {
-                log.info("초기 동기화 필요. 작업 시작: {}", id);
-                return CompletableFuture.runAsync(() -> commentSyncService.getCommentSync(id))
-                        .whenComplete((v, e) -> {
-                            log.info("초기 동기화 작업 완료. 맵에서 제거: {}", id);
-                            initialSyncInProgress.remove(id);
-                        });
-            });
+        if (channelOpt.isPresent() && channelOpt.get().getLastSelectedAt() != null) {
+            Channel channel = channelOpt.get();
+            boolean pending = channel.getCommentStatus() == CommentStatus.COMMENT_PARTIAL;
+            boolean refreshing = (pending || isStale(channel)) && requestRefresh(channel);
+            return CompletableFuture.completedFuture(
+                    new CommentPageResult(findCommentsFromDb(channelId, page, size), channel.getLastSelectedAt(), refreshing));
+        }
+
+        if (budgetMillis != null && budgetMillis > 0) {
+            // 시간 제한 안에서 부분 동기화, 여러 요청이 같은 작업을 기다리므로 복사본에만 타임아웃을 건다
+            log.info("초기 부분 동기화 필요. 작업 등록: {}, 제한 시간: {}ms", channelId, budgetMillis);
+            return handleSyncError(syncJobService.submit(channelId, SyncLevel.PARTIAL).copy()
+                    .completeOnTimeout(null, budgetMillis, TimeUnit.MILLISECONDS)
+                    .thenApplyAsync(v -> currentPage(channelId, page, size), responseExecutor));
         }
 
-        // 동기화 작업(필요했다면)이 끝난 후, DB에서 데이터를 조회하여 반환
-        return syncFuture.thenCompose(v -> CompletableFuture.completedFuture(findCommentsFromDb(channelId, page, size)))
+        // 초기 동기화가 필요한 경우 작업 등록, 같은 채널 작업이 이미 있으면 그 작업을 기다림
+        log.info("초기 동기화 필요. 작업 등록: {}", channelId);
+        CompletableFuture<Void> syncFuture = syncJobService.submit(channelId, SyncLevel.BASIC);
+
+        // 동기화 작업이 끝난 후, DB에서 데이터를 조회하여 반환
+        return handleSyncError(syncFuture.thenApplyAsync(v ->
+                new CommentPageResult(findCommentsFromDb(channelId, page, size), LocalDateTime.now(), false), responseExecutor));
+    }
+
+    // 시간 안에 끝났으면 부분 동기화 결과, 아니면 그때까지 DB 에 있는 만큼 (나머지는 진행 중으로 표시)
+    private CommentPageResult currentPage(String channelId, int page, int size) {
+        Optional<Channel> channel = channelRepository.findById(channelId);
+        LocalDateTime lastSyncedAt = channel.map(Channel::getLastSelectedAt).orElse(null);
+        boolean refreshing = lastSyncedAt == null
+                || channel.get().getCommentStatus() == CommentStatus.COMMENT_PARTIAL;
+        return new CommentPageResult(findCommentsFromDb(channelId, page, size), lastSyncedAt, refreshing);
+    }
+
+    private CompletableFuture<CommentPageResult> handleSyncError(CompletableFuture<CommentPageResult> future) {
+        return future
                 .exceptionally(ex -> {
                     log.info("비동기 작업 중 에러 발생 : {}", ex);
                     Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
@@ -99,21 +142,40 @@ public class CommentService {
                 });
     }
 
+    private boolean isStale(Channel channel) {
+        return channel.getLastSelectedAt().isBefore(LocalDateTime.now().minus(staleAfter));
+    }
+
+    // 백그라운드 갱신 등록, 확장 동기화된 채널은 확장 단계로 (증분이라 비용이 작음)
+    private boolean requestRefresh(Channel channel) {
+        long now = System.currentTimeMillis();
+        Long previous = refreshRequestedAt.putIfAbsent(channel.getId(), now);
+        if (previous != null) {
+            return true; // 최근에 이미 등록함
+        }
+
+        SyncLevel level = channel.getCommentStatus() == CommentStatus.COMMENT_EXTENDED ? SyncLevel.EXTENDED : SyncLevel.BASIC;
+        try {
+            syncJobService.enqueue(channel.getId(), level, QuotaPriority.INTERACTIVE);
+            log.info("오래된 데이터, 백그라운드 갱신 등록 channelId={}, lastSelectedAt={}", channel.getId(), channel.getLastSelectedAt());
+            return true;
+        } catch (Exception e) {
+            // 갱신 등록이 실패해도 가진 데이터는 그대로 응답
+            refreshRequestedAt.remove(channel.getId());
+            log.warn("백그라운드 갱신 등록 실패 channelId={}", channel.getId(), e);
+            return false;
+        }
+    }
+
     public CompletableFuture<Page<CommentResponseDto>> getMoreComments(String channelId) {
         log.info("getMoreComments 요청 받음: {}", channelId);
 
-        // 추가 동기화가 필요한 경우, 동시성 제어 로직 수행
-        CompletableFuture<Void> syncFuture = moreCommentsInProgress.computeIfAbsent(channelId, id -> {
-            log.info("추가 동기화 작업 시작: {}", id);
-            return CompletableFuture.runAsync(() -> commentSyncService.getMoreCommentSync(id))
-                    .whenComplete((v, e) -> {
-                        log.info("추가 동기화 작업 완료. 맵에서 제거: {}", id);
-                        moreCommentsInProgress.remove(id);
-                    });
-        });
+        // 추가 동기화 작업 등록, 같은 채널 작업이 이미 있으면 그 작업을 기다림
+        log.info("추가 동기화 작업 등록: {}", channelId);
+        CompletableFuture<Void> syncFuture = syncJobService.submit(channelId, SyncLevel.EXTENDED);
 
         // 동기화 작업이 끝난 후, DB에서 데이터를 조회하여 반환
-        return syncFuture.thenCompose(v -> CompletableFuture.completedFuture(findCommentsFromDb(channelId, 0, 10)))
+        return syncFuture.thenApplyAsync(v -> findCommentsFromDb(channelId, 0, 10), responseExecutor)
                 .exceptionally(ex -> {
                     log.info("비동기 작업 중 에러 발생 : {}", ex);
                     Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
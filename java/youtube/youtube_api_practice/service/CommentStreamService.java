@@ -0,0 +1,185 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import youtube.youtube_api_practice.config.AsyncConfig;
+import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.dto.CommentResponseDto;
+import youtube.youtube_api_practice.repository.channel.ChannelRepository;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 초기 동기화를 SSE 로 스트리밍
+ * - comments: 비디오 하나의 댓글이 DB 에 커밋되는 대로 (좋아요 순)
+ * - page: 동기화가 끝난 뒤 DB 기준 좋아요 순 첫 페이지
+ * - error: 동기화 실패 (code, message)
+ * 이미 동기화된 채널은 page 이벤트 하나만 보내고 끝냄
+ *
+ * 댓글은 동기화 쓰기 스레드에서 발행되므로 거기서 변환/send(블로킹) 하지 않고
+ * 스트림마다 크기 제한이 있는 큐에 넣은 뒤 streamExecutor 에서 순서대로 DTO 로 바꿔서 보냄
+ * 느린 클라이언트로 큐가 차면 comments 이벤트는 버리고, page/error 와 종료는 항상 마지막에 보냄
+ */
+@Slf4j
+@Service
+public class CommentStreamService {
+
+    private final ChannelRepository channelRepository;
+    private final CommentService commentService;
+    private final SyncJobService syncJobService;
+    private final SyncProgressPublisher syncProgressPublisher;
+    private final Executor streamExecutor;
+    private final long timeoutMillis;
+    private final int queueSize;
+
+    public CommentStreamService(ChannelRepository channelRepository,
+                                CommentService commentService,
+                                SyncJobService syncJobService,
+                                SyncProgressPublisher syncProgressPublisher,
+                                @Qualifier(AsyncConfig.STREAM) Executor streamExecutor,
+                                @Value("${comments.stream.timeout-ms:120000}") long timeoutMillis,
+                                @Value("${comments.stream.queue-size:64}") int queueSize) {
+        this.channelRepository = channelRepository;
+        this.commentService = commentService;
+        this.syncJobService = syncJobService;
+        this.syncProgressPublisher = syncProgressPublisher;
+        this.streamExecutor = streamExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.queueSize = queueSize;
+    }
+
+    public SseEmitter streamComments(String channelId, int size) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        boolean synced = channelRepository.findById(channelId)
+                .map(channel -> channel.getLastSelectedAt() != null)
+                .orElse(false);
+        if (synced) {
+            send(emitter, "page", commentService.findCommentsFromDb(channelId, 0, size));
+            emitter.complete();
+            return emitter;
+        }
+
+        EventQueue events = new EventQueue(channelId, emitter);
+
+        // 작업을 등록하기 전에 구독해야 앞쪽 비디오를 놓치지 않음
+        Runnable unsubscribe = syncProgressPublisher.subscribe(channelId, event -> events.offer("comments", () -> toDtos(event.comments())));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        log.info("초기 동기화 스트리밍 시작: {}", channelId);
+        syncJobService.submit(channelId, SyncLevel.BASIC).whenCompleteAsync((v, ex) -> {
+            unsubscribe.run();
+            if (ex == null) {
+                events.finish("page", () -> commentService.findCommentsFromDb(channelId, 0, size));
+                return;
+            }
+
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            log.info("스트리밍 동기화 실패 channelId={}, cause={}", channelId, cause.toString());
+            events.finish("error", () -> Map.of(
+                    "code", SyncJobService.errorCodeOf(cause),
+                    "message", String.valueOf(cause.getMessage())));
+        }, streamExecutor);
+        return emitter;
+    }
+
+    private List<CommentResponseDto> toDtos(List<Comment> comments) {
+        return comments.stream()
+                .sorted(Comparator.comparingInt(Comment::getLikeCount).reversed())
+                .map(comment -> CommentResponseDto.builder().comment(comment).build())
+                .toList();
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 끝난 스트림
+            log.debug("SSE 전송 실패 event={}, cause={}", name, e.toString());
+        }
+    }
+
+    // data 는 보내는 스레드(streamExecutor)에서 만듦
+    private record Event(String name, Supplier<Object> data, boolean last) {
+    }
+
+    /**
+     * 스트림 하나의 전송 대기열
+     * 한 번에 한 스레드만 비우므로 이벤트 순서가 유지되고, 같은 emitter 에 동시에 send 하지 않음
+     */
+    private final class EventQueue {
+
+        private final String channelId;
+        private final SseEmitter emitter;
+        private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private EventQueue(String channelId, SseEmitter emitter) {
+            this.channelId = channelId;
+            this.emitter = emitter;
+        }
+
+        void offer(String name, Supplier<Object> data) {
+            if (pending.incrementAndGet() > queueSize) {
+                pending.decrementAndGet();
+                log.debug("SSE 큐가 가득 차서 이벤트를 버림 channelId={}, event={}", channelId, name);
+                return;
+            }
+            queue.add(new Event(name, data, false));
+            schedule();
+        }
+
+        // 마지막 이벤트는 크기 제한 없이 넣고, 보낸 뒤 스트림을 닫음
+        void finish(String name, Supplier<Object> data) {
+            pending.incrementAndGet();
+            queue.add(new Event(name, data, true));
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                streamExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.warn("SSE 전송 풀이 가득 차서 스트림을 닫음 channelId={}", channelId);
+                queue.clear();
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            do {
+                Event event;
+                while ((event = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    send(emitter, event.name(), event.data().get());
+                    if (event.last()) {
+                        emitter.complete();
+                    }
+                }
+                draining.set(false);
+                // 비우는 사이에 들어온 이벤트가 있으면 다시 가져감
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
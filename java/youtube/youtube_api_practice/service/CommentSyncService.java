@@ -1,91 +1,341 @@
 package youtube.youtube_api_practice.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import youtube.youtube_api_practice.domain.Channel;
-import youtube.youtube_api_practice.domain.Comment;
 import youtube.youtube_api_practice.domain.CommentStatus;
+import youtube.youtube_api_practice.domain.SyncLevel;
 import youtube.youtube_api_practice.domain.Video;
 import youtube.youtube_api_practice.exception.ChannelNotFoundException;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+import youtube.youtube_api_practice.client.CommentSnapshot;
 import youtube.youtube_api_practice.client.YoutubeProvider;
-import youtube.youtube_api_practice.repository.Comment.CommentRepository;
 import youtube.youtube_api_practice.repository.Video.VideoRepository;
 import youtube.youtube_api_practice.repository.channel.ChannelRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 실제 동기화 작업과 트랜잭션을 담당하는 서비스
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CommentSyncService {
 
+    // 미리 받아두는 비디오 페이지 수
+    private static final int PAGE_PREFETCH = 2;
+
     private final YoutubeProvider youtubeProvider;
     private final ChannelRepository channelRepository;
-    private final CommentRepository commentRepository;
     private final VideoRepository videoRepository;
+    private final SyncIngestionWriter syncIngestionWriter;
+    private final SyncProgressPublisher syncProgressPublisher;
+    private final ChannelSyncLock channelSyncLock;
+    private final int commentConcurrency;
+    private final int partialVideoCount;
+    private final int refreshVideoLimit;
+    private final int refreshCommentLimit;
+    private final Duration freshWindow;
+
+    public CommentSyncService(YoutubeProvider youtubeProvider,
+                              ChannelRepository channelRepository,
+                              VideoRepository videoRepository,
+                              SyncIngestionWriter syncIngestionWriter,
+                              SyncProgressPublisher syncProgressPublisher,
+                              ChannelSyncLock channelSyncLock,
+                              @Value("${sync.comment.concurrency:8}") int commentConcurrency,
+                              @Value("${sync.partial.video-count:5}") int partialVideoCount,
+                              @Value("${sync.refresh-known.video-limit:100}") int refreshVideoLimit,
+                              @Value("${sync.refresh-known.comment-limit:30}") int refreshCommentLimit,
+                              @Value("${sync.lock.fresh-seconds:60}") long freshSeconds) {
+        this.youtubeProvider = youtubeProvider;
+        this.channelRepository = channelRepository;
+        this.videoRepository = videoRepository;
+        this.syncIngestionWriter = syncIngestionWriter;
+        this.syncProgressPublisher = syncProgressPublisher;
+        this.channelSyncLock = channelSyncLock;
+        this.commentConcurrency = Math.max(1, commentConcurrency);
+        this.partialVideoCount = partialVideoCount;
+        this.refreshVideoLimit = refreshVideoLimit;
+        this.refreshCommentLimit = refreshCommentLimit;
+        this.freshWindow = Duration.ofSeconds(freshSeconds);
+    }
 
     /**
      * 가벼운 초기 동기화 작업
+     * HTTP 호출 동안 트랜잭션을 잡지 않고, 결과는 SyncIngestionWriter 가 작은 트랜잭션으로 나눠서 커밋
      */
-    @Transactional
     public void getCommentSync(String channelId) {
+        runLocked(channelId, SyncLevel.BASIC,
+                EnumSet.of(CommentStatus.COMMENT_BASIC, CommentStatus.COMMENT_EXTENDED, CommentStatus.COMMENT_FULL),
+                () -> {
+                    basicSync(channelId);
+                    return false;
+                });
+    }
+
+    private void basicSync(String channelId) {
         log.info("performInitialSync 시작: {}", channelId);
         long start = System.currentTimeMillis();
 
-        // API를 통해 최신 채널 정보를 가져옴
+        // API를 통해 최신 채널 정보를 가져옴 (조회수는 우리 DB 값을 유지)
         Channel channel = youtubeProvider.fetchChannel(channelId);
+        Optional<Channel> existing = channelRepository.findById(channelId);
+        existing.ifPresent(saved -> channel.setSearchCount(saved.getSearchCount()));
+
+        // 가벼운 동기화: 최근 영상 33개, 영상당 댓글 30개
+        // 부분 동기화에 이어서 하는 경우 이미 저장한 최신 영상들은 etag 가 같으면(304) 건너뜀
+        syncVideosAndComments(channel, youtubeProvider.fetchVideoPagesAsync(channel, 33),
+                commentFetcher(channelId, 30), true);
+
+        // 모든 데이터가 커밋된 후 상태 업데이트
+        saveSynced(channel, CommentStatus.COMMENT_BASIC);
+
+        long end = System.currentTimeMillis();
+        log.info("performInitialSync 걸린 시간: {}초", (end - start) / 1000.0);
+    }
 
-        // 가벼운 동기화: 최근 영상 33개
-        List<Video> videos = youtubeProvider.fetchVideos(channel, 33);
-        videoRepository.upsertVideos(videos);
+    /**
+     * 첫 방문 시간 제한용 부분 동기화: 최신 영상 몇 개만
+     * 이미 BASIC 이상으로 동기화된 채널은 건너뜀
+     * @return 나머지 BASIC 동기화를 이어서 해야 하면 true
+     */
+    public boolean getPartialCommentSync(String channelId) {
+        LocalDateTime freshSince = LocalDateTime.now().minus(freshWindow);
+        return channelSyncLock.withLock(channelId, SyncLevel.PARTIAL, () -> partialSync(channelId, freshSince));
+    }
 
-        for (Video video : videos) {
-            // 영상당 댓글 30개
-            List<Comment> comments = youtubeProvider.fetchComments(video, 30);
-            commentRepository.upsertComments(comments);
+    private boolean partialSync(String channelId, LocalDateTime freshSince) {
+        Optional<Channel> existing = channelRepository.findById(channelId);
+        if (existing.isPresent() && existing.get().getLastSelectedAt() != null
+                && existing.get().getCommentStatus() != CommentStatus.COMMENT_PARTIAL) {
+            log.info("이미 동기화된 채널, 부분 동기화 생략: {}", channelId);
+            return false;
+        }
+        if (isFresh(existing, freshSince)) {
+            // 다른 인스턴스가 방금 부분 동기화를 끝냈고 이어서 할 작업도 그쪽에서 등록함
+            log.info("방금 부분 동기화된 채널, 생략: {}", channelId);
+            return false;
         }
 
-        // 모든 작업이 끝난 후 상태 업데이트
-        channel.setLastSelectAt(LocalDateTime.now());
-        channel.setCommentStatus(CommentStatus.COMMENT_BASIC);
-        channelRepository.upsertChannel(channel);
+        log.info("performPartialSync 시작: {}", channelId);
+        long start = System.currentTimeMillis();
+
+        Channel channel = youtubeProvider.fetchChannel(channelId);
+        existing.ifPresent(saved -> channel.setSearchCount(saved.getSearchCount()));
+
+        syncVideosAndComments(channel, youtubeProvider.fetchVideoPagesAsync(channel, partialVideoCount),
+                commentFetcher(channelId, 30), true);
+
+        // 그 사이 확장 동기화가 먼저 끝났으면 상태는 그대로 두고 BASIC 도 이어서 하지 않음
+        CommentStatus saved = saveSynced(channel, CommentStatus.COMMENT_PARTIAL);
 
         long end = System.currentTimeMillis();
-        log.info("performInitialSync 걸린 시간: {}초", (end - start) / 1000.0);
+        log.info("performPartialSync 걸린 시간: {}초", (end - start) / 1000.0);
+        return saved == CommentStatus.COMMENT_PARTIAL;
     }
 
     /**
      * 무거운 추가 동기화 작업
+     * @return 증분 동기화여서 기존 비디오 댓글 갱신(REFRESH_KNOWN)을 이어서 해야 하면 true
      */
-    @Transactional
-    public void getMoreCommentSync(String channelId) {
-        log.info("performMoreCommentsSync 시작: {}", channelId);
-        long start = System.currentTimeMillis();
+    public boolean getMoreCommentSync(String channelId) {
+        return runLocked(channelId, SyncLevel.EXTENDED,
+                EnumSet.of(CommentStatus.COMMENT_EXTENDED, CommentStatus.COMMENT_FULL),
+                () -> extendedSync(channelId));
+    }
+
+    private boolean extendedSync(String channelId) {
+        try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(QuotaPriority.BACKGROUND)) {
+            log.info("performMoreCommentsSync 시작: {}", channelId);
+            long start = System.currentTimeMillis();
+
+            Channel channel = channelRepository.findById(channelId)
+                    .orElseThrow(() -> new ChannelNotFoundException("Channel not found with id: " + channelId));
+
+            Optional<Video> newestKnown = videoRepository.findFirstByChannelIdOrderByPublishedAtDesc(channelId);
+            boolean incremental = channel.getCommentStatus() == CommentStatus.COMMENT_EXTENDED && newestKnown.isPresent();
 
-        Channel channel = channelRepository.findById(channelId)
-                .orElseThrow(() -> new ChannelNotFoundException("Channel not found with id: " + channelId));
+            if (incremental) {
+                // 증분 동기화: 이미 100개를 받아둔 채널은 가진 최신 비디오에 닿을 때까지만 새 업로드를 가져옴
+                Set<String> newVideoIds = syncVideosAndComments(channel,
+                        youtubeProvider.fetchNewVideoPagesAsync(channel, 100, newestKnown.get()),
+                        commentFetcher(channelId, 30), true).videoIds();
+                log.info("새 비디오 {}개 channelId={}", newVideoIds.size(), channelId);
+                // 기존 비디오 댓글 갱신은 락을 놓은 뒤 REFRESH_KNOWN 작업으로 따로 (워커가 등록)
+            } else {
+                // 무거운 동기화: 최근 영상 100개, 영상당 댓글 30개
+                // 지난 동기화 이후 바뀌지 않은 비디오(etag 일치)는 파싱과 저장을 건너뜀
+                SyncResult result = syncVideosAndComments(channel, youtubeProvider.fetchVideoPagesAsync(channel, 100),
+                        commentFetcher(channelId, 30), true);
+                recordChurn(channel, result);
+            }
 
-        // 무거운 동기화: 최근 영상 100개
-        List<Video> videos = youtubeProvider.fetchVideos(channel, 100);
-        videoRepository.upsertVideos(videos);
+            // 모든 데이터가 커밋된 후 상태 업데이트
+            saveSynced(channel, CommentStatus.COMMENT_EXTENDED);
 
-        for (Video video : videos) {
-            // 영상당 댓글 30개
-            List<Comment> comments = youtubeProvider.fetchComments(video, 30);
-            commentRepository.upsertComments(comments);
+            long end = System.currentTimeMillis();
+            log.info("performMoreCommentsSync 걸린 시간: {}초", (end - start) / 1000.0);
+            return incremental;
         }
+    }
 
-        // 모든 작업이 끝난 후 상태 업데이트
-        channel.setCommentStatus(CommentStatus.COMMENT_EXTENDED);
+    /**
+     * 채널/단계 락을 잡고 동기화
+     * 락을 기다리는 동안 다른 인스턴스가 같은 동기화를 끝냈으면 (freshWindow 안에 satisfied 상태로 저장됨) 다시 하지 않고
+     * 호출한 쪽은 그 결과를 DB 에서 읽음
+     * @return sync 의 결과, 생략했으면 false
+     */
+    private boolean runLocked(String channelId, SyncLevel syncLevel, Set<CommentStatus> satisfied, Supplier<Boolean> sync) {
+        LocalDateTime freshSince = LocalDateTime.now().minus(freshWindow);
+        return channelSyncLock.withLock(channelId, syncLevel, () -> {
+            Optional<Channel> existing = channelRepository.findById(channelId);
+            if (existing.isPresent() && satisfied.contains(existing.get().getCommentStatus()) && isFresh(existing, freshSince)) {
+                log.info("다른 곳에서 방금 동기화됨, 생략 channelId={}, level={}, lastSelectedAt={}",
+                        channelId, syncLevel, existing.get().getLastSelectedAt());
+                return false;
+            }
+            return sync.get();
+        });
+    }
+
+    /**
+     * 동기화 결과 상태 저장
+     * 다른 단계 락으로 돈 동기화가 먼저 끝났을 수 있으므로 저장 직전에 다시 읽어서 더 높은 상태는 낮추지 않음
+     * @return 실제로 저장한 상태
+     */
+    private CommentStatus saveSynced(Channel channel, CommentStatus synced) {
+        CommentStatus current = channelRepository.findById(channel.getId())
+                .map(Channel::getCommentStatus)
+                .orElse(CommentStatus.COMMENT_NONE);
+        CommentStatus status = current.compareTo(synced) > 0 ? current : synced;
+        if (status != synced) {
+            log.info("더 높은 동기화 상태 유지 channelId={}, current={}, synced={}", channel.getId(), current, synced);
+        }
+
+        channel.setLastSelectAt(LocalDateTime.now());
+        channel.setCommentStatus(status);
         channelRepository.upsertChannel(channel);
+        return status;
+    }
 
-        long end = System.currentTimeMillis();
-        log.info("performMoreCommentsSync 걸린 시간: {}초", (end - start) / 1000.0);
+    private boolean isFresh(Optional<Channel> channel, LocalDateTime freshSince) {
+        return channel.map(Channel::getLastSelectedAt)
+                .map(lastSelectedAt -> lastSelectedAt.isAfter(freshSince))
+                .orElse(false);
+    }
+
+    /**
+     * 이미 저장된 최근 비디오들의 댓글 갱신 (BULK 우선순위, REFRESH_KNOWN 작업)
+     * 채널 락 없이 돌고, 방금 저장한 새 비디오는 etag 가 같아서(304) 저장 없이 지나감
+     * 바뀌지 않은 비디오(etag 일치)는 저장을 건너뛰고, BULK 쿼터 몫이 모자라면 다음 동기화로 미룸
+     */
+    public void refreshKnownVideoComments(String channelId) {
+        try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(QuotaPriority.BULK)) {
+            Channel channel = channelRepository.findById(channelId)
+                    .orElseThrow(() -> new ChannelNotFoundException("Channel not found with id: " + channelId));
+            List<Video> videos = videoRepository.findRecentByChannel(channelId, PageRequest.of(0, refreshVideoLimit));
+            if (videos.isEmpty()) {
+                return;
+            }
+
+            log.info("기존 비디오 댓글 갱신 channelId={}, videos={}", channelId, videos.size());
+            SyncResult result = syncVideosAndComments(channel, Flux.just(videos),
+                    video -> youtubeProvider.fetchCommentSnapshotAsync(video, refreshCommentLimit, video.getCommentsEtag()), false);
+            recordChurn(channel, result);
+        } catch (QuotaExceededException e) {
+            log.info("쿼터 몫이 부족해 기존 비디오 댓글 갱신을 미룸 channelId={}", channelId);
+        }
+    }
+
+    /**
+     * 비디오 목록과 댓글을 파이프라인으로 동기화
+     * - playlistItems 페이지가 도착하는 즉시 그 페이지 비디오들의 댓글 요청을 시작 (다음 페이지 요청과 겹침)
+     * - 동시에 진행 중인 댓글 요청은 채널 전체에서 최대 commentConcurrency 개 (논블로킹 WebClient 라 요청마다 스레드를 잡지 않음)
+     *   페이지가 pagePrefetch 개까지 동시에 돌므로 페이지마다 commentConcurrency / pagePrefetch 개씩 나눠 가짐
+     * - 비디오 하나가 실패해도 그 비디오만 건너뛰고 채널 동기화는 계속 (쿼터 초과는 더 해도 소용없으므로 중단)
+     * - 진행 상황 구독자(SSE)가 있으면 비디오별 댓글이 커밋되는 대로 넘겨줌 (실패해서 저장되지 않을 댓글은 보내지 않음)
+     * - 바뀐 비디오의 댓글과 etag 를 writer 로 넘기고, 바뀌지 않은 비디오(304)는 아무것도 쓰지 않음
+     * - 쓰기는 SyncIngestionWriter 가 크기/시간 단위 트랜잭션으로 나눠서 커밋
+     */
+    private SyncResult syncVideosAndComments(Channel channel, Flux<List<Video>> videoPages,
+                                             Function<Video, Mono<CommentSnapshot>> commentFetcher, boolean saveVideos) {
+        AtomicInteger failedVideos = new AtomicInteger();
+        AtomicInteger revalidatedVideos = new AtomicInteger();
+        AtomicInteger changedVideos = new AtomicInteger();
+        Set<String> syncedVideoIds = ConcurrentHashMap.newKeySet();
+        int pagePrefetch = Math.min(PAGE_PREFETCH, commentConcurrency);
+        int perPageConcurrency = Math.max(1, commentConcurrency / pagePrefetch);
+
+        Flux<SyncIngestionWriter.Batch> batches = videoPages
+                .doOnNext(videos -> videos.forEach(video -> syncedVideoIds.add(video.getId())))
+                .flatMapSequential(videos -> Flux.concat(
+                                // 댓글이 참조하는 비디오가 먼저 저장되도록 페이지의 비디오 묶음을 앞에 둠
+                                Mono.just(SyncIngestionWriter.Batch.ofVideos(saveVideos ? videos : List.of())),
+                                Flux.fromIterable(videos)
+                                        .flatMap(video -> commentFetcher.apply(video)
+                                                .onErrorResume(e -> !(e instanceof QuotaExceededException), e -> {
+                                                    failedVideos.incrementAndGet();
+                                                    log.warn("비디오 댓글 동기화 실패, 건너뜀 videoId={}, cause={}", video.getId(), e.toString());
+                                                    return Mono.empty();
+                                                }), perPageConcurrency)
+                                        .doOnNext(snapshot -> {
+                                            if (snapshot.revalidated()) {
+                                                revalidatedVideos.incrementAndGet();
+                                                if (!snapshot.notModified()) {
+                                                    changedVideos.incrementAndGet();
+                                                }
+                                            }
+                                        })
+                                        .filter(snapshot -> !snapshot.notModified())
+                                        .map(SyncIngestionWriter.Batch::ofSnapshot)),
+                        pagePrefetch)
+                .contextWrite(QuotaPriorityContext.capture());
+
+        long written = syncIngestionWriter.write(batches,
+                snapshot -> syncProgressPublisher.publish(channel.getId(), snapshot.video(), snapshot.comments()));
+        log.info("동기화 저장 channelId={}, videos={}, rows={}", channel.getId(), syncedVideoIds.size(), written);
+
+        if (failedVideos.get() > 0) {
+            log.warn("댓글 동기화에 실패한 비디오 {}개 channelId={}", failedVideos.get(), channel.getId());
+        }
+        return new SyncResult(syncedVideoIds, revalidatedVideos.get(), changedVideos.get());
+    }
+
+    // 저장된 etag 로 조건부 요청 (etag 는 댓글이 커밋된 뒤에만 남으므로 304 = 이미 저장된 댓글과 같음)
+    private Function<Video, Mono<CommentSnapshot>> commentFetcher(String channelId, int commentLimit) {
+        Map<String, String> commentsEtags = videoRepository.findCommentsEtags(channelId);
+        return video -> youtubeProvider.fetchCommentSnapshotAsync(video, commentLimit, commentsEtags.get(video.getId()));
+    }
+
+    // 채널의 댓글 변경 비율 기록 (주기 갱신 우선순위에 사용)
+    // 전에 받아본 비디오 중 200(바뀜) / 200+304 만 셈, 처음 받는 비디오는 바뀐 것인지 알 수 없으므로 제외
+    private void recordChurn(Channel channel, SyncResult result) {
+        if (result.revalidatedVideos() == 0) {
+            return;
+        }
+        double churn = (double) result.changedVideos() / result.revalidatedVideos();
+        channelRepository.updateCommentChurn(channel.getId(), churn);
+        log.info("댓글 변경 비율 channelId={}, churn={}", channel.getId(), churn);
+    }
+
+    // revalidatedVideos: 저장된 etag 로 다시 확인한 비디오 수, changedVideos: 그중 바뀐(200) 비디오 수
+    private record SyncResult(Set<String> videoIds, int revalidatedVideos, int changedVideos) {
     }
-}
\ No newline at end of file
+}
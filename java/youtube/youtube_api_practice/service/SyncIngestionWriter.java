@@ -0,0 +1,152 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import youtube.youtube_api_practice.client.CommentSnapshot;
+import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.Video;
+import youtube.youtube_api_practice.repository.Comment.CommentRepository;
+import youtube.youtube_api_practice.repository.Video.VideoRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 동기화 결과를 DB에 쓰는 단계
+ * - 가져오기 쪽과는 크기가 정해진 큐(queueCapacity)로만 연결, 큐가 차면 YouTube 요청이 멈춤 (backpressure)
+ * - chunkSize 행이 모이거나 maxDelay 가 지나면 한 번 커밋, 커밋마다 커넥션을 잡았다가 바로 돌려줌
+ * - 비디오와 댓글을 들어온 순서대로 쓰고, 한 묶음 안에서는 비디오를 먼저 써서 댓글이 참조할 수 있게 함
+ * - 비디오의 댓글 etag 는 그 비디오 댓글 뒤에 들어오므로 댓글과 같은 커밋이나 그 뒤 커밋에만 기록됨
+ *   (중간에 실패하면 etag 가 남지 않아서 다음 동기화가 304 로 건너뛰지 않고 다시 받음)
+ * - 비디오 댓글이 커밋되면 onCommitted 로 알림 (진행 상황 스트림이 저장되지 않을 댓글을 보여주지 않도록)
+ *
+ * HTTP 호출 내내 트랜잭션과 커넥션을 잡고 있지 않도록, 동기화 메서드는 트랜잭션 없이 이 writer 로만 씀
+ */
+@Slf4j
+@Component
+public class SyncIngestionWriter {
+
+    private final VideoRepository videoRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final Duration maxDelay;
+
+    public SyncIngestionWriter(VideoRepository videoRepository,
+                               CommentRepository commentRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${sync.writer.queue-capacity:5000}") int queueCapacity,
+                               @Value("${sync.writer.chunk-size:1000}") int chunkSize,
+                               @Value("${sync.writer.max-delay-ms:1000}") long maxDelayMs) {
+        this.videoRepository = videoRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        this.maxDelay = Duration.ofMillis(maxDelayMs);
+    }
+
+    // 끝까지 쓰고 저장한 행 수를 반환, 가져오기/쓰기 중 오류는 그대로 던짐 (이미 커밋된 묶음은 남음)
+    public long write(Flux<Batch> batches) {
+        return write(batches, snapshot -> {
+        });
+    }
+
+    // onCommitted: ofSnapshot 으로 넣은 비디오 댓글이 커밋된 뒤 writer 스레드에서 호출
+    public long write(Flux<Batch> batches, Consumer<CommentSnapshot> onCommitted) {
+        Long written = batches
+                .concatMapIterable(Batch::rows)
+                .publishOn(Schedulers.boundedElastic(), queueCapacity) // 가져오기와 쓰기 사이의 bounded queue
+                .bufferTimeout(chunkSize, maxDelay, true)
+                .concatMap(chunk -> Mono.fromCallable(() -> commit(chunk, onCommitted))
+                        .subscribeOn(Schedulers.boundedElastic())) // JDBC 쓰기는 블로킹이므로 네트워크 스레드에서 분리
+                .reduce(0L, Long::sum)
+                .block();
+
+        return written == null ? 0 : written;
+    }
+
+    private long commit(List<Object> chunk, Consumer<CommentSnapshot> onCommitted) {
+        List<Video> videos = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        Map<String, String> commentsEtags = new HashMap<>();
+        List<CommentSnapshot> committed = new ArrayList<>();
+        for (Object row : chunk) {
+            if (row instanceof Video video) {
+                videos.add(video);
+            } else if (row instanceof Comment comment) {
+                comments.add(comment);
+            } else if (row instanceof CommentsEtag etag) {
+                commentsEtags.put(etag.videoId(), etag.etag());
+            } else if (row instanceof CommentSnapshot snapshot) {
+                committed.add(snapshot);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!videos.isEmpty()) {
+                videoRepository.upsertVideos(videos);
+            }
+            if (!comments.isEmpty()) {
+                commentRepository.upsertComments(comments);
+            }
+            if (!commentsEtags.isEmpty()) {
+                videoRepository.updateCommentsEtags(commentsEtags);
+            }
+        });
+        log.debug("sync chunk committed videos={}, comments={}", videos.size(), comments.size());
+
+        for (CommentSnapshot snapshot : committed) {
+            try {
+                onCommitted.accept(snapshot);
+            } catch (Exception e) {
+                // 알림 쪽 문제로 동기화가 멈추지 않도록
+                log.debug("커밋 알림 실패 videoId={}, cause={}", snapshot.video().getId(), e.toString());
+            }
+        }
+        return chunk.size() - committed.size();
+    }
+
+    // snapshots: 저장 행이 아니라 커밋 알림용 표시, 그 비디오의 댓글/etag 뒤에 둬서 같은 커밋이나 그 뒤 커밋에서 알림
+    public record Batch(List<Video> videos, List<Comment> comments, List<CommentsEtag> commentsEtags,
+                        List<CommentSnapshot> snapshots) {
+
+        public static Batch ofVideos(List<Video> videos) {
+            return new Batch(videos, List.of(), List.of(), List.of());
+        }
+
+        public static Batch ofComments(List<Comment> comments) {
+            return new Batch(List.of(), comments, List.of(), List.of());
+        }
+
+        // 바뀐 비디오의 댓글과, 그 댓글이 저장된 뒤에 기록할 etag
+        public static Batch ofSnapshot(CommentSnapshot snapshot) {
+            List<CommentsEtag> etags = snapshot.etag() == null
+                    ? List.of()
+                    : List.of(new CommentsEtag(snapshot.video().getId(), snapshot.etag()));
+            return new Batch(List.of(), snapshot.comments(), etags, List.of(snapshot));
+        }
+
+        List<Object> rows() {
+            List<Object> rows = new ArrayList<>(videos.size() + comments.size() + commentsEtags.size() + snapshots.size());
+            rows.addAll(videos);
+            rows.addAll(comments);
+            rows.addAll(commentsEtags);
+            rows.addAll(snapshots);
+            return rows;
+        }
+    }
+
+    public record CommentsEtag(String videoId, String etag) {
+    }
+}
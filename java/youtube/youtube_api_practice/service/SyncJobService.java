@@ -0,0 +1,114 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import youtube.youtube_api_practice.domain.SyncJob;
+import youtube.youtube_api_practice.domain.SyncJobStatus;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.exception.ChannelNotFoundException;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.exception.YoutubeApiFailedException;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.repository.syncjob.SyncJobRepository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동기화 작업을 작업 테이블에 넣고 끝날 때까지 기다릴 수 있게 해주는 서비스
+ * - 같은 채널/단계 작업이 이미 대기/실행 중이면 그 작업을 같이 기다림 (인스턴스가 여러 개여도 한 번만 동기화)
+ * - 이 인스턴스의 워커가 끝낸 작업은 바로, 다른 인스턴스가 처리한 작업은 DB 상태를 주기적으로 확인해서 완료
+ * - 등록은 호출한 쪽 트랜잭션과 별개로 바로 커밋 (요청의 조회 트랜잭션이 끝나기 전에도 워커/다른 인스턴스가 보고, 요청이 롤백돼도 남음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncJobService {
+
+    public static final String CHANNEL_NOT_FOUND = "CHANNEL_NOT_FOUND";
+    public static final String QUOTA_EXCEEDED = "QUOTA_EXCEEDED";
+    public static final String SYNC_FAILED = "SYNC_FAILED";
+
+    private final SyncJobRepository syncJobRepository;
+
+    // job_id -> 이 인스턴스에서 기다리는 요청들
+    private final Map<Long, CompletableFuture<Void>> waiters = new ConcurrentHashMap<>();
+
+    // 사용자가 기다리는 작업이므로 INTERACTIVE, 대기 중인 갱신 작업이 있으면 그 작업을 올려서 같이 기다림
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CompletableFuture<Void> submit(String channelId, SyncLevel syncLevel) {
+        long jobId = syncJobRepository.enqueue(channelId, syncLevel, QuotaPriority.INTERACTIVE);
+        log.info("동기화 작업 등록 jobId={}, channelId={}, level={}", jobId, channelId, syncLevel);
+        return waiters.computeIfAbsent(jobId, id -> new CompletableFuture<>());
+    }
+
+    // 기다리지 않는 백그라운드 갱신용, 같은 작업이 이미 있으면 새로 만들지 않음
+    // priority: 작업을 가져가는 순서이자 실행할 때의 쿼터 우선순위
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long enqueue(String channelId, SyncLevel syncLevel, QuotaPriority priority) {
+        long jobId = syncJobRepository.enqueue(channelId, syncLevel, priority);
+        log.info("백그라운드 동기화 작업 등록 jobId={}, channelId={}, level={}, priority={}", jobId, channelId, syncLevel, priority);
+        return jobId;
+    }
+
+    // 대기/실행 중인 작업 수 (단계별)
+    public Map<SyncLevel, Integer> countActive(QuotaPriority priority) {
+        return syncJobRepository.countActiveByLevel(priority);
+    }
+
+    void completed(long jobId) {
+        CompletableFuture<Void> waiter = waiters.remove(jobId);
+        if (waiter != null) {
+            waiter.complete(null);
+        }
+    }
+
+    void failed(long jobId, Throwable cause) {
+        CompletableFuture<Void> waiter = waiters.remove(jobId);
+        if (waiter != null) {
+            waiter.completeExceptionally(cause);
+        }
+    }
+
+    // 다른 인스턴스의 워커가 처리한 작업 확인
+    @Scheduled(fixedDelayString = "${sync.job.wait-poll-interval-ms:500}")
+    public void pollWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+
+        for (SyncJob job : syncJobRepository.findAllById(waiters.keySet())) {
+            if (job.getStatus() == SyncJobStatus.DONE) {
+                completed(job.getId());
+            } else if (job.getStatus() == SyncJobStatus.FAILED) {
+                failed(job.getId(), toException(job));
+            }
+        }
+    }
+
+    static String errorCodeOf(Throwable e) {
+        if (e instanceof ChannelNotFoundException) {
+            return CHANNEL_NOT_FOUND;
+        }
+        if (e instanceof QuotaExceededException) {
+            return QUOTA_EXCEEDED;
+        }
+        return SYNC_FAILED;
+    }
+
+    private RuntimeException toException(SyncJob job) {
+        String message = job.getErrorMessage() == null ? "Sync job failed: " + job.getId() : job.getErrorMessage();
+        if (CHANNEL_NOT_FOUND.equals(job.getErrorCode())) {
+            return new ChannelNotFoundException(message);
+        }
+        if (QUOTA_EXCEEDED.equals(job.getErrorCode())) {
+            return new QuotaExceededException(message);
+        }
+        return new YoutubeApiFailedException(message);
+    }
+}
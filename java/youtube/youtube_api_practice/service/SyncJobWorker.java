@@ -0,0 +1,162 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import youtube.youtube_api_practice.config.AsyncConfig;
+import youtube.youtube_api_practice.config.ExecutorProperties;
+import youtube.youtube_api_practice.domain.SyncJob;
+import youtube.youtube_api_practice.domain.SyncLevel;
+import youtube.youtube_api_practice.exception.ChannelNotFoundException;
+import youtube.youtube_api_practice.exception.QuotaExceededException;
+import youtube.youtube_api_practice.quota.QuotaPriority;
+import youtube.youtube_api_practice.quota.QuotaPriorityContext;
+import youtube.youtube_api_practice.repository.syncjob.SyncJobRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 작업 테이블에서 동기화 작업을 가져와 실행하는 워커
+ * - 풀마다 빈 슬롯만큼 그 풀의 단계 작업만 SKIP LOCKED 로 점유하므로 인스턴스를 늘리면 워커도 수평으로 늘어남
+ * - 실행 중에는 주기적으로 lease 를 연장, 배포 등으로 죽으면 lease 가 끝난 뒤 다른 워커가 이어받음
+ * - 사용자가 기다리는 작업(INTERACTIVE)을 주기 갱신(BACKGROUND)보다 먼저 가져가고, 작업마다 그 쿼터 우선순위로 실행
+ * - 채널 없음/쿼터 초과는 바로 실패, 나머지 오류는 maxAttempts 까지 다시 대기열로
+ * - 사용자가 기다리는 단계(PARTIAL/BASIC)와 확장/갱신 단계(EXTENDED/REFRESH_KNOWN)는 다른 풀에서 실행하고
+ *   슬롯도 풀(최대 스레드 수)마다 따로 세므로, 확장/갱신 작업이 밀려 있어도 초기 동기화 자리를 차지하지 않음
+ */
+@Slf4j
+@Component
+public class SyncJobWorker {
+
+    private final SyncJobRepository syncJobRepository;
+    private final SyncJobService syncJobService;
+    private final CommentSyncService commentSyncService;
+    private final TransactionTemplate transactionTemplate;
+    private final int leaseSeconds;
+    private final int maxAttempts;
+
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private final List<Lane> lanes;
+
+    public SyncJobWorker(SyncJobRepository syncJobRepository,
+                         SyncJobService syncJobService,
+                         CommentSyncService commentSyncService,
+                         TransactionTemplate transactionTemplate,
+                         @Qualifier(AsyncConfig.INTERACTIVE_SYNC) Executor interactiveSyncExecutor,
+                         @Qualifier(AsyncConfig.BACKGROUND_SYNC) Executor backgroundSyncExecutor,
+                         ExecutorProperties executorProperties,
+                         @Value("${sync.worker.lease-seconds:120}") int leaseSeconds,
+                         @Value("${sync.worker.max-attempts:3}") int maxAttempts) {
+        this.syncJobRepository = syncJobRepository;
+        this.syncJobService = syncJobService;
+        this.commentSyncService = commentSyncService;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.lanes = List.of(
+                new Lane(List.of(SyncLevel.PARTIAL, SyncLevel.BASIC), interactiveSyncExecutor,
+                        executorProperties.getInteractiveSync().getMaxSize()),
+                new Lane(List.of(SyncLevel.EXTENDED, SyncLevel.REFRESH_KNOWN), backgroundSyncExecutor,
+                        executorProperties.getBackgroundSync().getMaxSize()));
+    }
+
+    @Scheduled(fixedDelayString = "${sync.worker.poll-interval-ms:1000}")
+    public void poll() {
+        int expired = syncJobRepository.failExpired(maxAttempts);
+        if (expired > 0) {
+            log.warn("lease 가 끝난 동기화 작업 {}개 실패 처리", expired);
+        }
+
+        for (Lane lane : lanes) {
+            poll(lane);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sync.worker.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        List<Long> jobIds = lanes.stream()
+                .flatMap(lane -> lane.running().stream())
+                .toList();
+        if (!jobIds.isEmpty()) {
+            syncJobRepository.extendLease(jobIds, workerId, leaseSeconds);
+        }
+    }
+
+    private void poll(Lane lane) {
+        int free = lane.slots() - lane.running().size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<SyncJob> jobs = transactionTemplate.execute(status -> {
+            List<Long> jobIds = syncJobRepository.claim(workerId, lane.syncLevels(), free, leaseSeconds, maxAttempts);
+            return jobIds.isEmpty() ? List.of() : syncJobRepository.findAllById(jobIds);
+        });
+
+        for (SyncJob job : jobs) {
+            lane.running().add(job.getId());
+            try {
+                lane.executor().execute(() -> run(job, lane));
+            } catch (RejectedExecutionException e) {
+                // 풀이 가득 차면 실행한 적 없는 작업이므로 시도 횟수를 쓰지 않고 대기열로 (다음 폴링이나 다른 인스턴스가 가져감)
+                log.warn("동기화 풀이 가득 차서 작업을 돌려놓음 jobId={}, level={}", job.getId(), job.getSyncLevel());
+                syncJobRepository.release(job.getId(), workerId);
+                lane.running().remove(job.getId());
+            }
+        }
+    }
+
+    private void run(SyncJob job, Lane lane) {
+        log.info("동기화 작업 시작 jobId={}, channelId={}, level={}, priority={}, attempt={}",
+                job.getId(), job.getChannelId(), job.getSyncLevel(), job.getPriority(), job.getAttempts());
+        // 작업의 우선순위로 쿼터 차감 (주기 갱신은 BACKGROUND), 단계 안에서 더 낮게 지정한 곳(확장/기존 비디오 갱신)은 그대로
+        try (QuotaPriorityContext.Scope scope = QuotaPriorityContext.enter(job.getPriority())) {
+            switch (job.getSyncLevel()) {
+                case PARTIAL -> {
+                    if (commentSyncService.getPartialCommentSync(job.getChannelId())) {
+                        // 나머지는 백그라운드 작업으로 이어서
+                        syncJobService.enqueue(job.getChannelId(), SyncLevel.BASIC, job.getPriority());
+                    }
+                }
+                case BASIC -> commentSyncService.getCommentSync(job.getChannelId());
+                case EXTENDED -> {
+                    if (commentSyncService.getMoreCommentSync(job.getChannelId())) {
+                        // 기존 비디오 댓글 갱신은 채널 락 밖에서 별도 작업으로
+                        syncJobService.enqueue(job.getChannelId(), SyncLevel.REFRESH_KNOWN, QuotaPriority.BULK);
+                    }
+                }
+                case REFRESH_KNOWN -> commentSyncService.refreshKnownVideoComments(job.getChannelId());
+            }
+            syncJobRepository.complete(job.getId(), workerId);
+            syncJobService.completed(job.getId());
+        } catch (Exception e) {
+            boolean retry = !(e instanceof ChannelNotFoundException || e instanceof QuotaExceededException)
+                    && job.getAttempts() < maxAttempts;
+            log.warn("동기화 작업 실패 jobId={}, retry={}", job.getId(), retry, e);
+
+            syncJobRepository.fail(job.getId(), workerId, SyncJobService.errorCodeOf(e), e.getMessage(), retry);
+            if (!retry) {
+                syncJobService.failed(job.getId(), e);
+            }
+        } finally {
+            lane.running().remove(job.getId());
+        }
+    }
+
+    // 풀 하나와 그 풀에서 실행하는 단계, slots 는 풀의 최대 스레드 수
+    private record Lane(List<SyncLevel> syncLevels, Executor executor, int slots, Set<Long> running) {
+
+        private Lane(List<SyncLevel> syncLevels, Executor executor, int slots) {
+            this(syncLevels, executor, slots, ConcurrentHashMap.newKeySet());
+        }
+    }
+}
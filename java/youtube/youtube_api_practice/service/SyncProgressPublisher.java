@@ -0,0 +1,55 @@
+package youtube.youtube_api_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import youtube.youtube_api_practice.domain.Comment;
+import youtube.youtube_api_practice.domain.Video;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 동기화 중인 채널의 비디오별 댓글을 커밋되는 대로 구독자(SSE 스트림 등)에게 넘겨주는 컴포넌트
+ * 같은 인스턴스의 워커가 처리하는 동기화만 전달됨
+ * 구독자는 SyncIngestionWriter 의 쓰기 스레드에서 호출되므로 (다음 묶음 커밋을 막지 않도록) 넘겨받기만 하고 일은 자기 스레드에서
+ */
+@Slf4j
+@Component
+public class SyncProgressPublisher {
+
+    // channelId -> 구독자
+    private final Map<String, List<Consumer<VideoComments>>> listeners = new ConcurrentHashMap<>();
+
+    // 구독 해제용 Runnable 반환
+    public Runnable subscribe(String channelId, Consumer<VideoComments> listener) {
+        listeners.computeIfAbsent(channelId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> listeners.computeIfPresent(channelId, (id, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    // 비디오 하나의 댓글을 구독자에게 넘김, 구독자가 없으면 아무것도 안 함
+    public void publish(String channelId, Video video, List<Comment> comments) {
+        List<Consumer<VideoComments>> channelListeners = listeners.get(channelId);
+        if (channelListeners == null) {
+            return;
+        }
+
+        VideoComments event = new VideoComments(video, comments);
+        for (Consumer<VideoComments> listener : channelListeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                // 구독자 쪽 문제로 동기화가 멈추지 않도록
+                log.debug("동기화 진행 전달 실패 channelId={}, cause={}", channelId, e.toString());
+            }
+        }
+    }
+
+    public record VideoComments(Video video, List<Comment> comments) {
+    }
+}
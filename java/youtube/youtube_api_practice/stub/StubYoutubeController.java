@@ -0,0 +1,185 @@
+package youtube.youtube_api_practice.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 부하/성능 측정용 로컬 YouTube Data API stand-in (stub 프로필에서만 뜸)
+ * 실제 쿼터와 네트워크 없이 동기화/검색 경로를 재현 가능하게 측정하기 위함
+ *
+ * 사용법: spring.profiles.active=stub
+ *        youtube.http.base-url=http://localhost:8080/stub/youtube/v3
+ *
+ * - 지연, 503 비율, quotaExceeded 비율은 youtube.stub.* 로 조절
+ * - 지연은 Mono.delay 로 주고 Tomcat 스레드는 바로 반납 (sleep 으로 막으면 같은 프로세스의 본 API 측정이 왜곡됨)
+ * - fixture 파일이 있으면 그대로 재생, 없으면 합성 데이터
+ * - 응답 본문 해시를 etag 로 내려주고 If-None-Match 가 같으면 304
+ * - fields 파라미터는 무시하고 전체 모양을 돌려줌
+ */
+@Slf4j
+@RestController
+@Profile("stub")
+@RequestMapping("/stub/youtube/v3")
+@RequiredArgsConstructor
+public class StubYoutubeController {
+
+    private final StubYoutubeProperties properties;
+    private final StubYoutubeData data;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<String>> search(@RequestParam("q") String q,
+                                         @RequestParam(value = "maxResults", defaultValue = "5") int maxResults,
+                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("search", q, ifNoneMatch, () -> data.search(q, maxResults));
+    }
+
+    @GetMapping("/channels")
+    public Mono<ResponseEntity<String>> channels(@RequestParam("id") String id,
+                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("channels", id, ifNoneMatch, () -> data.channels(split(id)));
+    }
+
+    @GetMapping("/playlistItems")
+    public Mono<ResponseEntity<String>> playlistItems(@RequestParam("playlistId") String playlistId,
+                                                @RequestParam(value = "maxResults", defaultValue = "5") int maxResults,
+                                                @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("playlistItems", fixtureId(playlistId, pageToken), ifNoneMatch,
+                () -> data.playlistItems(playlistId, maxResults, pageToken));
+    }
+
+    @GetMapping("/videos")
+    public Mono<ResponseEntity<String>> videos(@RequestParam("id") String id,
+                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("videos", id, ifNoneMatch, () -> data.videos(split(id)));
+    }
+
+    @GetMapping("/commentThreads")
+    public Mono<ResponseEntity<String>> commentThreads(@RequestParam("videoId") String videoId,
+                                                 @RequestParam(value = "maxResults", defaultValue = "20") int maxResults,
+                                                 @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("commentThreads", fixtureId(videoId, pageToken), ifNoneMatch,
+                () -> data.commentThreads(videoId, maxResults, pageToken));
+    }
+
+    @GetMapping("/comments")
+    public Mono<ResponseEntity<String>> comments(@RequestParam("parentId") String parentId,
+                                           @RequestParam(value = "maxResults", defaultValue = "20") int maxResults,
+                                           @RequestParam(value = "pageToken", required = false) String pageToken,
+                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond("comments", fixtureId(parentId, pageToken), ifNoneMatch,
+                () -> data.comments(parentId, maxResults, pageToken));
+    }
+
+    private Mono<ResponseEntity<String>> respond(String endpoint, String id, String ifNoneMatch, Supplier<Map<String, Object>> generator) {
+        // fixture 는 파일 I/O 라 delay 타이머 스레드(parallel) 대신 boundedElastic 에서 응답 생성
+        return Mono.delay(latency())
+                .publishOn(Schedulers.boundedElastic())
+                .map(tick -> render(endpoint, id, ifNoneMatch, generator));
+    }
+
+    private ResponseEntity<String> render(String endpoint, String id, String ifNoneMatch, Supplier<Map<String, Object>> generator) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < properties.getQuotaErrorRate()) {
+            return error(HttpStatus.FORBIDDEN, "quotaExceeded", "youtube.quota",
+                    "The request cannot be completed because you have exceeded your quota.");
+        }
+        if (random.nextDouble() < properties.getErrorRate()) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "backendError", "global", "Backend Error");
+        }
+
+        ObjectNode body = readFixture(endpoint, id);
+        if (body == null) {
+            body = objectMapper.valueToTree(generator.get());
+        }
+
+        // 실제 API 처럼 본문에 etag 를 넣고, If-None-Match 가 같으면 304
+        String etag = DigestUtils.md5DigestAsHex(body.toString().getBytes(StandardCharsets.UTF_8));
+        if (ifNoneMatch != null && etag.equals(ifNoneMatch.replace("\"", ""))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        body.put("etag", etag);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .body(body.toString());
+    }
+
+    private ResponseEntity<String> error(HttpStatus status, String reason, String domain, String message) {
+        Map<String, Object> error = Map.of("error", Map.of(
+                "code", status.value(),
+                "message", message,
+                "errors", List.of(Map.of("message", message, "domain", domain, "reason", reason))));
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toJson(error));
+    }
+
+    private ObjectNode readFixture(String endpoint, String id) {
+        if (properties.getFixtureDir() == null || properties.getFixtureDir().isBlank()) {
+            return null;
+        }
+        Path path = Path.of(properties.getFixtureDir(), endpoint, id.replaceAll("[^A-Za-z0-9_.,-]", "_") + ".json");
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            return (ObjectNode) objectMapper.readTree(Files.readString(path));
+        } catch (IOException | ClassCastException e) {
+            log.warn("fixture 읽기 실패 {}", path, e);
+            return null;
+        }
+    }
+
+    private Duration latency() {
+        long min = properties.getMinLatency().toMillis();
+        long max = Math.max(min, properties.getMaxLatency().toMillis());
+        long latency = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        return Duration.ofMillis(Math.max(0, latency));
+    }
+
+    private String fixtureId(String id, String pageToken) {
+        return pageToken == null ? id : id + "_" + pageToken;
+    }
+
+    private List<String> split(String ids) {
+        return Arrays.stream(ids.split(",")).filter(s -> !s.isBlank()).toList();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
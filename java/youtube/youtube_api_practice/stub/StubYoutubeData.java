@@ -0,0 +1,150 @@
+package youtube.youtube_api_practice.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * YouTube Data API v3 응답 모양을 흉내 낸 합성 데이터
+ * 같은 id 로 요청하면 항상 같은 결과가 나오도록 id 에서 값을 만든다.
+ * 페이지 토큰은 다음 시작 위치 ("p" + offset)
+ */
+@Component
+@Profile("stub")
+@RequiredArgsConstructor
+public class StubYoutubeData {
+
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final StubYoutubeProperties properties;
+
+    public Map<String, Object> search(String q, int maxResults) {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxResults, 50); i++) {
+            items.add(Map.of("id", Map.of("kind", "youtube#channel", "channelId", "UCstub" + Math.abs(q.hashCode()) + "_" + i)));
+        }
+        return list(items, null);
+    }
+
+    public Map<String, Object> channels(List<String> ids) {
+        List<Object> items = new ArrayList<>();
+        for (String id : ids) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", id);
+            item.put("snippet", Map.of(
+                    "title", "Stub channel " + id,
+                    "description", "synthetic channel for load test",
+                    "thumbnails", thumbnails("ch-" + id)));
+            item.put("contentDetails", Map.of("relatedPlaylists", Map.of("uploads", uploadsOf(id))));
+            item.put("statistics", Map.of("subscriberCount", String.valueOf(1000 + Math.abs(id.hashCode() % 1_000_000))));
+            items.add(item);
+        }
+        return list(items, null);
+    }
+
+    public Map<String, Object> playlistItems(String playlistId, int maxResults, String pageToken) {
+        int offset = offsetOf(pageToken);
+        int end = Math.min(offset + Math.min(maxResults, 50), properties.getVideosPerChannel());
+
+        List<Object> items = new ArrayList<>();
+        for (int i = offset; i < end; i++) {
+            String videoId = playlistId + "_v" + i;
+            items.add(Map.of("snippet", Map.of(
+                    "title", "Stub video " + i,
+                    // 최신 영상이 먼저 오도록 인덱스가 클수록 과거
+                    "publishedAt", BASE_TIME.minusHours(i).toString(),
+                    "thumbnails", thumbnails(videoId),
+                    "resourceId", Map.of("kind", "youtube#video", "videoId", videoId))));
+        }
+        return list(items, nextToken(end, properties.getVideosPerChannel()));
+    }
+
+    public Map<String, Object> videos(List<String> ids) {
+        List<Object> items = new ArrayList<>();
+        for (String id : ids) {
+            items.add(Map.of("id", id, "snippet", Map.of("thumbnails", thumbnails(id))));
+        }
+        return list(items, null);
+    }
+
+    public Map<String, Object> commentThreads(String videoId, int maxResults, String pageToken) {
+        int offset = offsetOf(pageToken);
+        int end = Math.min(offset + Math.min(maxResults, 100), properties.getCommentsPerVideo());
+
+        List<Object> items = new ArrayList<>();
+        for (int i = offset; i < end; i++) {
+            // order=relevance 처럼 앞쪽일수록 좋아요가 많음
+            int likeCount = Math.max(0, properties.getCommentsPerVideo() - i) * 3;
+            items.add(Map.of("snippet", Map.of(
+                    "topLevelComment", comment(videoId + "_c" + i, likeCount, i),
+                    "totalReplyCount", properties.getRepliesPerComment())));
+        }
+        return list(items, nextToken(end, properties.getCommentsPerVideo()));
+    }
+
+    public Map<String, Object> comments(String parentId, int maxResults, String pageToken) {
+        int offset = offsetOf(pageToken);
+        int end = Math.min(offset + Math.min(maxResults, 100), properties.getRepliesPerComment());
+
+        List<Object> items = new ArrayList<>();
+        for (int i = offset; i < end; i++) {
+            items.add(comment(parentId + "." + i, i, i));
+        }
+        return list(items, nextToken(end, properties.getRepliesPerComment()));
+    }
+
+    private Map<String, Object> comment(String id, int likeCount, int index) {
+        String author = "UCauthor" + Math.abs(id.hashCode() % 10_000);
+        Map<String, Object> snippet = new LinkedHashMap<>();
+        snippet.put("authorDisplayName", "@stub" + Math.abs(id.hashCode() % 10_000));
+        snippet.put("authorProfileImageUrl", "https://yt3.ggpht.com/stub/" + author);
+        snippet.put("authorChannelId", Map.of("value", author));
+        snippet.put("textDisplay", "stub comment " + id);
+        snippet.put("likeCount", likeCount);
+        snippet.put("publishedAt", BASE_TIME.minusMinutes(index).toString());
+        return Map.of("id", id, "snippet", snippet);
+    }
+
+    private Map<String, Object> thumbnails(String id) {
+        String base = "https://i.ytimg.com/vi/" + id + "/";
+        return Map.of(
+                "default", Map.of("url", base + "default.jpg"),
+                "medium", Map.of("url", base + "mqdefault.jpg"),
+                "high", Map.of("url", base + "hqdefault.jpg"));
+    }
+
+    private Map<String, Object> list(List<Object> items, String nextPageToken) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (nextPageToken != null) {
+            response.put("nextPageToken", nextPageToken);
+        }
+        response.put("items", items);
+        return response;
+    }
+
+    private String uploadsOf(String channelId) {
+        return channelId.startsWith("UC") ? "UU" + channelId.substring(2) : "UU" + channelId;
+    }
+
+    private int offsetOf(String pageToken) {
+        if (pageToken == null || !pageToken.startsWith("p")) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(pageToken.substring(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String nextToken(int end, int total) {
+        return end < total ? "p" + end : null;
+    }
+}
@@ -0,0 +1,37 @@
+package youtube.youtube_api_practice.stub;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로컬 YouTube stub 서버 설정 (youtube.stub.*)
+ */
+@Getter
+@Setter
+@Component
+@Profile("stub")
+@ConfigurationProperties(prefix = "youtube.stub")
+public class StubYoutubeProperties {
+
+    // 응답 지연 (min ~ max 사이 균등 분포)
+    private Duration minLatency = Duration.ofMillis(50);
+    private Duration maxLatency = Duration.ofMillis(150);
+
+    // 503 backendError 비율, 403 quotaExceeded 비율 (0.0 ~ 1.0)
+    private double errorRate = 0.0;
+    private double quotaErrorRate = 0.0;
+
+    // 합성 데이터 크기
+    private int videosPerChannel = 200;
+    private int commentsPerVideo = 300;
+    private int repliesPerComment = 5;
+
+    // 녹화한 응답 재생용 디렉터리, 비어 있으면 합성 데이터만 사용
+    // {fixtureDir}/{endpoint}/{id}.json  ex) fixtures/channels/UCxxxx.json, fixtures/commentThreads/videoId.json
+    private String fixtureDir;
+}